@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -23,10 +24,13 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.hdr.histogram)
 }
 
 // about source and compilation
@@ -34,6 +38,15 @@ java {
     sourceCompatibility = JavaVersion.VERSION_17
 }
 
+// jmh benchmarks (src/jmh, ./gradlew jmh -PjmhIncludes=PointServiceBenchmark -PjmhProfilers=gc)
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    includes.set(listOf(providers.gradleProperty("jmhIncludes").getOrElse(".*")))
+    profilers.set(providers.gradleProperty("jmhProfilers").map { it.split(",") }.getOrElse(emptyList()))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
@@ -48,5 +61,41 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark", "load")
+    }
+}
+
+// benchmark tasks (./gradlew benchmark -PbenchmarkJdk=21)
+tasks.register<Test>("benchmark") {
+    description = "Runs tests tagged as benchmark."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(providers.gradleProperty("benchmarkJdk").getOrElse("17").toInt()))
+    })
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+// load test tasks (./gradlew loadTest -Pload.threads=64 -Pload.durationSeconds=60 -Pload.mix=charge:40,use:30,read:30)
+tasks.register<Test>("loadTest") {
+    description = "Runs tests tagged as load."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    listOf("load.threads", "load.durationSeconds", "load.users", "load.mix").forEach { key ->
+        providers.gradleProperty(key).orNull?.let { systemProperty(key, it) }
+    }
+    testLogging {
+        showStandardStreams = true
+    }
 }
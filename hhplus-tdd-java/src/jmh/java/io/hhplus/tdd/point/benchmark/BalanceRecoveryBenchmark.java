@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.point.repository.BalanceSnapshot;
+import io.hhplus.tdd.point.repository.BalanceWal;
+import io.hhplus.tdd.point.repository.DurableBalanceStore;
+import io.hhplus.tdd.point.repository.LongBalanceStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 잔고 복구 시간 벤치마크
+ * - 유저 N 명의 스냅샷과 스냅샷 이후 로그(walTail 건)를 만들어 두고, 시작 시 복구에 걸리는 시간을 측정한다.
+ * 실행 : ./gradlew jmh -PjmhIncludes=BalanceRecoveryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class BalanceRecoveryBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int users;
+
+    @Param({"100000"})
+    public int walTail;
+
+    private final PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("balance-recovery-");
+        LongBalanceStore balances = new LongBalanceStore(users);
+        long now = System.currentTimeMillis();
+        for (long userId = 1; userId <= users; userId++) {
+            balances.save(userId, userId, now);
+        }
+        BalanceSnapshot.write(directory, 1, balances);
+
+        BalanceWal wal = new BalanceWal(directory, 1, pointThreadFactories.create("benchmark-balance-wal-"), 0);
+        long sequence = 0;
+        for (int i = 0; i < walTail; i++) {
+            sequence = wal.append(ThreadLocalRandom.current().nextLong(users) + 1, i, now + i);
+        }
+        wal.awaitDurable(sequence);
+        wal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public int recover() throws IOException {
+        DurableBalanceStore store = new DurableBalanceStore(new LongBalanceStore(users), directory,
+                pointThreadFactories.create("benchmark-balance-wal-"), 0);
+        int recovered = store.size();
+        store.close();
+        return recovered;
+    }
+}
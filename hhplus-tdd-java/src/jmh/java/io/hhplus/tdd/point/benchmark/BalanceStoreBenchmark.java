@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.LongBalanceStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 포인트 저장 공간 벤치마크
+ * - ConcurrentHashMap<Long, UserPoint> 와 long 배열 기반 저장 공간의 조회/저장 비교
+ * - 메모리 사용량/GC 는 -prof gc 로 함께 확인한다.
+ * 실행 : ./gradlew jmh -PjmhIncludes=BalanceStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+@Threads(8)
+public class BalanceStoreBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int users;
+
+    private Map<Long, UserPoint> hashMap;
+    private LongBalanceStore longBalanceStore;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        hashMap = new ConcurrentHashMap<>(users);
+        longBalanceStore = new LongBalanceStore(users);
+        long now = System.currentTimeMillis();
+        for (long userId = 1; userId <= users; userId++) {
+            hashMap.put(userId, new UserPoint(userId, userId, now));
+            longBalanceStore.save(userId, userId, now);
+        }
+    }
+
+    @Benchmark
+    public UserPoint hashMapFind() {
+        return hashMap.get(nextUserId());
+    }
+
+    @Benchmark
+    public UserPoint longBalanceStoreFind() {
+        return longBalanceStore.findById(nextUserId());
+    }
+
+    @Benchmark
+    public UserPoint hashMapSave() {
+        long userId = nextUserId();
+        UserPoint userPoint = new UserPoint(userId, userId, System.currentTimeMillis());
+        hashMap.put(userId, userPoint);
+        return userPoint;
+    }
+
+    @Benchmark
+    public UserPoint longBalanceStoreSave() {
+        long userId = nextUserId();
+        return longBalanceStore.save(userId, userId, System.currentTimeMillis());
+    }
+
+    private long nextUserId() {
+        return ThreadLocalRandom.current().nextLong(users) + 1;
+    }
+}
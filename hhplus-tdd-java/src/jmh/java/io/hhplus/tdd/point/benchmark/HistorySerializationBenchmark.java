@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.dto.PointHistoryDto;
+import io.hhplus.tdd.point.dto.PointHistoryPageDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+
+/**
+ * 포인트 내역 응답 직렬화 벤치마크 (내역 한 건 기준)
+ * - dtoList : PointHistory 를 PointHistoryDto 목록으로 바꾼 뒤 직렬화 (변경 전 방식, 비교 기준)
+ * - direct : PointHistory 목록을 PointHistorySerializer 로 바로 직렬화 (변경 후 방식)
+ * - 한 번에 ROWS 건을 쓰고 @OperationsPerInvocation 으로 나누므로, gc 프로파일러의 gc.alloc.rate.norm 이 내역 한 건당 할당량이다.
+ * 실행 : ./gradlew jmh -PjmhIncludes=HistorySerializationBenchmark -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class HistorySerializationBenchmark {
+    private static final int ROWS = 1000;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+    private ObjectMapper objectMapper;
+    private List<PointHistory> histories;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        //같은 스트림에 계속 쓰도록 직렬화 후 스트림을 닫지 않는다.
+        objectMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long now = System.currentTimeMillis();
+        histories = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            histories.add(new PointHistory(i + 1, 1L, 1000L + i, (i % 2 == 0 ? CHARGE : USE), now + i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void dtoList() throws IOException {
+        List<PointHistoryDto> dtos = histories.stream().map(PointHistory::toDto).toList();
+        objectMapper.writeValue(out, dtos);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void direct() throws IOException {
+        objectMapper.writeValue(out, PointHistoryPageDto.builder().histories(histories).build());
+    }
+}
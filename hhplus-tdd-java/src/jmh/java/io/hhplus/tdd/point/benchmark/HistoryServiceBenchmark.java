@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.dto.PointHistoryPageDto;
+import io.hhplus.tdd.point.service.HistoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+
+/**
+ * 포인트 내역 조회 벤치마크
+ * - 전체 내역 수 : 1천 ~ 1천만 건 (유저당 평균 100건)
+ * - selectPointHistory : 유저 id 인덱스로 조회
+ * - tableScan : 포인트 내역 테이블의 selectAllByUserId (전체 순회, 비교 기준)
+ * - selectRecentRange : 최근 10% 기간의 내역을 유저별 시각 인덱스로 조회
+ * - filterRecentRange : 유저의 전체 내역을 조회한 뒤 최근 10% 기간만 걸러내기 (비교 기준)
+ * 실행 : ./gradlew jmh -PjmhIncludes=HistoryServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx8g", "-Dlogging.level.root=WARN"})
+public abstract class HistoryServiceBenchmark {
+    private static final int HISTORIES_PER_USER = 100;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int historySize;
+
+    private PointServiceFixture fixture;
+    private int users;
+    private long recentFromMillis;      // 최근 10% 기간의 시작 시각
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = new PointServiceFixture("stub", 1000);
+        users = Math.max(1, historySize / HISTORIES_PER_USER);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < historySize; i++) {
+            fixture.pointHistoryRepository.insert((i % users) + 1, 1000L, (i % 2 == 0 ? CHARGE : USE), now + i);
+        }
+        recentFromMillis = now + historySize - historySize / 10;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<PointHistory> selectPointHistory() {
+        return fixture.historyService.selectPointHistory(nextUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> tableScan() {
+        return fixture.pointHistoryTable.selectAllByUserId(nextUserId());
+    }
+
+    @Benchmark
+    public PointHistoryPageDto selectRecentRange() {
+        return fixture.historyService.selectPointHistoryPage(nextUserId(), null, HistoryService.MAX_PAGE_SIZE, null, recentFromMillis, null);
+    }
+
+    @Benchmark
+    public List<PointHistory> filterRecentRange() {
+        return fixture.historyService.selectPointAllHistoryList(nextUserId()).stream()
+                .filter(history -> history.updateMillis() >= recentFromMillis)
+                .toList();
+    }
+
+    private long nextUserId() {
+        return ThreadLocalRandom.current().nextLong(users) + 1;
+    }
+
+    @Threads(1)
+    public static class Threads1 extends HistoryServiceBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends HistoryServiceBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends HistoryServiceBenchmark {
+    }
+}
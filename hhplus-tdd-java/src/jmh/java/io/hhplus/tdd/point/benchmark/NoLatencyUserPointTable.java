@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지연 없는 유저 포인트 테이블
+ * - UserPointTable 의 공개 API 를 그대로 제공하고, throttle 없이 바로 처리한다.
+ * - 서비스 코드 자체의 비용(락, 캐시, 인덱스)만 측정할 때 사용한다.
+ */
+public class NoLatencyUserPointTable extends UserPointTable {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint selectById(Long id) {
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+}
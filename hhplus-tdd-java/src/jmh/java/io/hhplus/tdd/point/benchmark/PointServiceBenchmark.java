@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.dto.UserPointDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 충전/사용/조회 서비스 경합 벤치마크
+ * - 스레드 수 : 1, 8, 64 (하위 클래스)
+ * - 유저 분포 : HOT (같은 유저 경합), UNIFORM (유저 분산)
+ * - 동시성 모드 : lock (유저 락), optimistic (버전 비교 후 재시도)
+ *   HOT 은 같은 유저 경합이 많은 경우, UNIFORM 은 경합이 거의 없는 경우의 두 모드를 비교한다.
+ * - tables=stub 이면 테이블 지연 없이 서비스 코드(락, 캐시)만 측정한다.
+ * 실행 : ./gradlew jmh -PjmhIncludes=PointServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-Dlogging.level.root=WARN"})
+public abstract class PointServiceBenchmark {
+
+    @Param({"HOT", "UNIFORM"})
+    public UserDistribution distribution;
+
+    @Param({"stub"})
+    public String tables;
+
+    @Param({"lock", "optimistic"})
+    public String mode;
+
+    private PointServiceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = new PointServiceFixture(tables, distribution.users(), mode);
+        //포인트 부족으로 사용이 실패하지 않도록 충분히 충전
+        for (long userId = 1; userId <= distribution.users(); userId++) {
+            fixture.userPointRepository.save(userId, Long.MAX_VALUE / 4);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public UserPointDto chargeUserPoint() {
+        return fixture.chargeService.chargeUserPoint(distribution.nextUserId(), 1L);
+    }
+
+    @Benchmark
+    public UserPointDto useUserPoint() {
+        return fixture.useService.useUserPoint(distribution.nextUserId(), 1L);
+    }
+
+    @Benchmark
+    public UserPointDto selectPointByUserId() {
+        return fixture.pointService.selectPointByUserId(distribution.nextUserId());
+    }
+
+    @Threads(1)
+    public static class Threads1 extends PointServiceBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends PointServiceBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends PointServiceBenchmark {
+    }
+}
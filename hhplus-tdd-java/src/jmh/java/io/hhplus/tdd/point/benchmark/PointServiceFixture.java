@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.hhplus.tdd.point.service.ChargeService;
+import io.hhplus.tdd.point.service.HistoryExportService;
+import io.hhplus.tdd.point.service.HistoryService;
+import io.hhplus.tdd.point.service.OptimisticPointUpdater;
+import io.hhplus.tdd.point.service.PointHistoryAppender;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.UseService;
+import io.hhplus.tdd.point.service.UserLockManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 벤치마크용 포인트 서비스 구성
+ * - tables=stub : 지연 없는 테이블 (서비스 코드 자체의 비용 측정)
+ * - tables=table : 실제 테이블 (throttle 포함)
+ * - mode=lock : 유저 락으로 충전/사용 (기본)
+ * - mode=optimistic : 버전 비교로 충전/사용
+ */
+public class PointServiceFixture {
+
+    public final UserPointTable userPointTable;
+    public final PointHistoryTable pointHistoryTable;
+    public final PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
+    public final UserPointCache userPointCache;
+    public final UserPointRepository userPointRepository;
+    public final PointHistoryRepository pointHistoryRepository;
+    public final HistorySummaryRepository historySummaryRepository;
+    public final PointHistoryAppender pointHistoryAppender;
+    public final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    public final UserLockManager userLockManager = new UserLockManager(meterRegistry);
+    public final VersionedUserPointStore versionedUserPointStore;
+    public final OptimisticPointUpdater optimisticPointUpdater;
+    public final PointHoldRepository pointHoldRepository;
+    public final PointService pointService;
+    public final ChargeService chargeService;
+    public final UseService useService;
+    public final HistoryService historyService;
+    public final HistoryExportService historyExportService;
+
+    public PointServiceFixture(String tables, int cacheSize) {
+        this(tables, cacheSize, "lock");
+    }
+
+    public PointServiceFixture(String tables, int cacheSize, String mode) {
+        boolean stub = "stub".equals(tables);
+        this.userPointTable = stub ? new NoLatencyUserPointTable() : new UserPointTable();
+        this.pointHistoryTable = stub ? new NoLatencyPointHistoryTable() : new PointHistoryTable();
+        this.userPointCache = new UserPointCache(cacheSize, 0);
+        this.userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+        this.pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+        this.historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+        this.pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 100_000, 8);
+        this.versionedUserPointStore = new VersionedUserPointStore(userPointRepository);
+        //경합이 심해도 재시도 초과(err-05)로 측정이 중단되지 않도록 재시도 횟수를 넉넉하게 둔다.
+        this.optimisticPointUpdater = new OptimisticPointUpdater(versionedUserPointStore, mode, 1_000, 50, 5_000, meterRegistry);
+        this.pointHoldRepository = new PointHoldRepository();
+        this.pointService = new PointService(userPointRepository, meterRegistry);
+        this.chargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater);
+        this.useService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater, pointHoldRepository);
+        this.historyService = new HistoryService(pointHistoryRepository, historySummaryRepository, meterRegistry);
+        this.historyExportService = new HistoryExportService(pointHistoryRepository, new ObjectMapper(), 500);
+    }
+
+    public void close() throws InterruptedException {
+        pointHistoryAppender.flush(1, TimeUnit.MINUTES);
+        pointHistoryAppender.shutdown();
+    }
+}
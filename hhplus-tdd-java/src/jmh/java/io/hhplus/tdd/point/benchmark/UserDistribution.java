@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 요청 유저 분포
+ * - HOT : 모든 스레드가 소수의 유저에게 몰린다. (같은 유저 경합)
+ * - UNIFORM : 많은 유저에게 고르게 분산된다.
+ */
+public enum UserDistribution {
+    HOT(4),
+    UNIFORM(100_000);
+
+    private final int users;
+
+    UserDistribution(int users) {
+        this.users = users;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    public long nextUserId() {
+        return ThreadLocalRandom.current().nextLong(users) + 1;
+    }
+}
@@ -1,18 +1,31 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.exception.ErrorMetrics;
 import io.hhplus.tdd.exception.TddCustomException;
+import io.hhplus.tdd.exception.TddRejectedException;
 import io.hhplus.tdd.point.PointController;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
+@RequiredArgsConstructor
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(ApiControllerAdvice.class);
+
+    private final MeterRegistry meterRegistry;
     /**
      * 기본 예외 처리
      * @param e
@@ -30,7 +43,41 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
      */
     @ExceptionHandler(value = TddCustomException.class)
     public ResponseEntity<ErrorResponse> handlePointServiceException(TddCustomException e) {
+        ErrorMetrics.count(meterRegistry, e.getCode());
         return ResponseEntity.status(400).body(new ErrorResponse(e.getCode(), e.getMessage()));
     }
 
+    /**
+     * 처리 중인 요청/유저별 대기 요청/유저 락 대기 시간 제한으로 바로 거절한 요청 처리
+     * @param e
+     * @return
+     */
+    @ExceptionHandler(value = TddRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTddRejectedException(TddRejectedException e) {
+        ErrorMetrics.count(meterRegistry, e.getCode());
+        ErrorMetrics.countRejected(meterRegistry, e.getCode());
+        log.warn("요청 거절 [{}] : {}", e.getCode(), e.getMessage());
+        return ResponseEntity.status(e.getStatus()).body(new ErrorResponse(e.getCode(), e.getMessage()));
+    }
+
+    /**
+     * 요청 실행기가 가득 차서 거절된 요청 처리
+     * @param e
+     * @return
+     */
+    @ExceptionHandler(value = RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException e) {
+        log.warn("요청 거절 : {}", e.getMessage());
+        ErrorMetrics.countRejected(meterRegistry, "503");
+        return ResponseEntity.status(503).body(new ErrorResponse("503", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    /**
+     * 비동기 요청 처리 시간 초과 (spring.mvc.async.request-timeout)
+     */
+    @Override
+    protected ResponseEntity<Object> handleAsyncRequestTimeoutException(AsyncRequestTimeoutException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        log.warn("요청 처리 시간 초과 : {}", request.getDescription(false));
+        return ResponseEntity.status(503).body(new ErrorResponse("503", "요청 처리 시간이 초과되었습니다."));
+    }
 }
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.point.repository.MappedPointHistoryStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 메모리 매핑 파일 포인트 내역 프로필 (spring.profiles.active=mapped-history)
+ * - 포인트 내역 테이블 대신 세그먼트 파일 로그에 내역을 저장하고, 재시작 시 로그에서 복구한다.
+ */
+@Configuration
+@Profile("mapped-history")
+public class PointHistoryStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public MappedPointHistoryStore mappedPointHistoryStore(@Value("${point.history.log.dir:./data/point-history}") String dir,
+                                                           @Value("${point.history.log.records-per-segment:1048576}") int recordsPerSegment) throws IOException {
+        return new MappedPointHistoryStore(Path.of(dir), recordsPerSegment);
+    }
+}
@@ -0,0 +1,60 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.service.PointCommandExecutor;
+import io.hhplus.tdd.point.service.PointHistoryAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내부 상태 메트릭
+ * - 내역 저장 대기 건수/지연, 유저 포인트 캐시 통계, 처리 대기 중인 유저 수
+ * - Spring Boot 가 MeterBinder 빈을 MeterRegistry 에 등록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointMeterBinder implements MeterBinder {
+
+    private final PointHistoryAppender pointHistoryAppender;    // 포인트 내역 비동기 저장
+    private final UserPointCache userPointCache;                // 유저 포인트 캐시
+    private final PointCommandExecutor pointCommandExecutor;    // 유저별 포인트 충전/사용 명령 실행기
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.history.appender.queue.depth", pointHistoryAppender, PointHistoryAppender::getQueueDepth)
+                .description("저장 대기 중인 포인트 내역 수")
+                .register(registry);
+        TimeGauge.builder("point.history.appender.lag", pointHistoryAppender, TimeUnit.MILLISECONDS, PointHistoryAppender::getLagMillis)
+                .description("가장 오래 대기 중인 포인트 내역의 대기 시간")
+                .register(registry);
+        FunctionCounter.builder("point.history.appender.failed", pointHistoryAppender, PointHistoryAppender::getFailedCount)
+                .description("재시도 후에도 저장하지 못해 실패 목록으로 옮긴 포인트 내역 수")
+                .register(registry);
+
+        Gauge.builder("point.cache.size", userPointCache, cache -> cache.stats().size())
+                .description("캐시된 유저 수")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().hits())
+                .description("유저 포인트 캐시 조회 수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().misses())
+                .description("유저 포인트 캐시 조회 수")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", userPointCache, cache -> cache.stats().evictions())
+                .description("유저 포인트 캐시에서 제거된 수")
+                .register(registry);
+
+        Gauge.builder("point.executor.active.mailboxes", pointCommandExecutor, PointCommandExecutor::activeMailboxCount)
+                .description("처리 대기 중인 명령이 있는 유저 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.point.shard.PointShardInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 유저 샤딩 설정
+ * - 포인트 API 요청은 컨트롤러에 들어가기 전에 담당 인스턴스를 확인한다. (point.shard.enabled=false 면 그대로 통과)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class PointShardConfig implements WebMvcConfigurer {
+
+    private final PointShardInterceptor pointShardInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(pointShardInterceptor).addPathPatterns("/point/**");
+    }
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.repository.DurableBalanceStore;
+import io.hhplus.tdd.point.repository.LongBalanceStore;
+import io.hhplus.tdd.point.repository.StoreBackedUserPointTable;
+import io.hhplus.tdd.point.repository.UserPointStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 메모리 저장 프로필 (spring.profiles.active=memory-store)
+ * - 유저 포인트를 long 배열 기반 저장 공간에 저장한다.
+ * - 기본 유저 포인트 테이블 대신 저장 공간을 사용하는 테이블을 우선 주입한다.
+ * - point.balance.durable.enabled=true 면 잔고 로그/스냅샷으로 재시작 후에도 잔고를 복구한다.
+ */
+@Configuration
+@Profile("memory-store")
+public class PointStoreConfig {
+
+    @Bean
+    public UserPointStore userPointStore(@Value("${point.store.expected-users:1000000}") int expectedUsers,
+                                         @Value("${point.balance.durable.enabled:false}") boolean durable,
+                                         @Value("${point.balance.durable.dir:./data/point-balance}") String dir,
+                                         @Value("${point.balance.durable.group-commit-micros:0}") long groupCommitMicros,
+                                         PointThreadFactories pointThreadFactories) throws IOException {
+        LongBalanceStore balances = new LongBalanceStore(expectedUsers);
+        if (!durable) {
+            return balances;
+        }
+        return new DurableBalanceStore(balances, Path.of(dir), pointThreadFactories.create("point-balance-wal-"), groupCommitMicros);
+    }
+
+    @Bean
+    @Primary
+    public UserPointTable storeBackedUserPointTable(UserPointStore userPointStore) {
+        return new StoreBackedUserPointTable(userPointStore);
+    }
+}
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 포인트 서비스 내부 워커 스레드 생성
+ * - spring.threads.virtual.enabled=true 이고 JDK 21 이상에서 실행하면 가상 스레드를 만든다.
+ *   (같은 설정으로 Spring Boot 가 Tomcat 요청 처리 스레드도 가상 스레드로 바꾼다.)
+ * - 빌드는 JDK 17 기준이므로 가상 스레드 API 는 실행 시점에 찾아서 사용하고,
+ *   지원하지 않는 JDK 에서는 플랫폼 스레드로 실행한다.
+ */
+@Component
+public class PointThreadFactories {
+    private static final Logger log = LoggerFactory.getLogger(PointThreadFactories.class);
+
+    private final boolean virtual;  // 가상 스레드 사용 여부
+
+    public PointThreadFactories(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        if (virtual && !isVirtualThreadSupported()) {
+            log.warn("가상 스레드를 지원하지 않는 JDK 입니다. 플랫폼 스레드로 실행합니다. (java.version={})", System.getProperty("java.version"));
+        }
+        this.virtual = virtual && isVirtualThreadSupported();
+    }
+
+    /**
+     * 가상 스레드 사용 여부
+     * @return boolean
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * 이름이 prefix + 번호인 스레드 생성기
+     * @param prefix
+     * @return ThreadFactory
+     */
+    public ThreadFactory create(String prefix) {
+        if (virtual) {
+            ThreadFactory factory = virtualThreadFactory(prefix);
+            if (factory != null) return factory;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 실행 중인 JDK 의 가상 스레드 지원 여부
+     * @return boolean
+     */
+    public static boolean isVirtualThreadSupported() {
+        return virtualThreadFactory("virtual-check-") != null;
+    }
+
+    /**
+     * Thread.ofVirtual().name(prefix, 1).factory()
+     */
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 커스텀 예외 코드별 발생 횟수 (point.errors)
+ * - 태그는 에러 코드(err-01, err-02 ...)만 사용한다.
+ * - 요청이 많아 바로 거절한 수는 point.requests.rejected 로 따로 기록한다.
+ */
+public final class ErrorMetrics {
+    public static final String ERRORS = "point.errors";
+    public static final String REJECTED = "point.requests.rejected";
+
+    private ErrorMetrics() {
+    }
+
+    /**
+     * 에러 코드 발생 횟수 증가
+     * @param meterRegistry
+     * @param code
+     */
+    public static void count(MeterRegistry meterRegistry, String code) {
+        Counter.builder(ERRORS)
+                .description("커스텀 예외 코드별 발생 횟수")
+                .tag("code", code == null ? "unknown" : code)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 거절 사유(에러 코드)별 거절 횟수 증가
+     * @param meterRegistry
+     * @param code
+     */
+    public static void countRejected(MeterRegistry meterRegistry, String code) {
+        Counter.builder(REJECTED)
+                .description("요청이 많아 바로 거절한 횟수")
+                .tag("code", code == null ? "unknown" : code)
+                .register(meterRegistry)
+                .increment();
+    }
+}
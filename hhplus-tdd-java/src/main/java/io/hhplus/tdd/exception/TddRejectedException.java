@@ -0,0 +1,17 @@
+package io.hhplus.tdd.exception;
+
+import lombok.Getter;
+
+/**
+ * 요청이 많아서 처리하지 않고 바로 거절한 경우 (429 / 503)
+ * - 처리 중인 명령 수, 유저별 대기 명령 수, 유저 락 대기 시간 제한을 넘으면 발생한다.
+ */
+@Getter
+public class TddRejectedException extends TddCustomException {
+    private final int status;   // 응답 상태 코드
+
+    public TddRejectedException(int status, String code, String message) {
+        super(code, message);
+        this.status = status;
+    }
+}
@@ -1,19 +1,30 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.point.dto.PointHistoryDto;
+import io.hhplus.tdd.point.dto.PointCommandDto;
+import io.hhplus.tdd.point.dto.PointCommandResultDto;
+import io.hhplus.tdd.point.dto.PointHistoryPageDto;
+import io.hhplus.tdd.point.dto.PointHistorySummaryDto;
+import io.hhplus.tdd.point.dto.PointHoldDto;
 import io.hhplus.tdd.point.dto.UserPointDto;
-import io.hhplus.tdd.point.service.ChargeService;
+import io.hhplus.tdd.point.service.HistoryExportService;
 import io.hhplus.tdd.point.service.HistoryService;
+import io.hhplus.tdd.point.service.PointCommandExecutor;
+import io.hhplus.tdd.point.service.PointHoldService;
+import io.hhplus.tdd.point.service.PointReadExecutor;
 import io.hhplus.tdd.point.service.PointService;
-import io.hhplus.tdd.point.service.UseService;
+import io.hhplus.tdd.point.shard.PointShardBatchService;
+import io.hhplus.tdd.point.shard.PointShardRouter;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.springframework.http.MediaType.*;
 
@@ -26,47 +37,126 @@ public class PointController {
 
     private final PointService pointService;        //유저 포인트 조회 서비스
     private final HistoryService historyService;    //유저 포인트 충전 및 사용 내역 조회 서비스
-    private final ChargeService chargeService;      //유저 포인트 충전 서비스
-    private final UseService useService;            //유저 포인트 사용 서비스
+    private final HistoryExportService historyExportService;    //유저 포인트 충전 및 사용 내역 내보내기 서비스
+    private final PointCommandExecutor pointCommandExecutor;    //유저별 포인트 충전/사용 명령 실행기
+    private final PointShardBatchService pointShardBatchService;    //유저 포인트 충전/사용 일괄 처리 서비스 (담당 인스턴스별로 나눠서 처리)
+    private final PointReadExecutor pointReadExecutor;          //유저 포인트 조회 요청 실행기
+    private final PointHoldService pointHoldService;            //유저 포인트 보류/확정/해제 서비스
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
      */
     @GetMapping("{id}")
-    public ResponseEntity<Long> point(@PathVariable(value = "id") long id) {
+    public CompletableFuture<ResponseEntity<Long>> point(@PathVariable(value = "id") long id) {
         log.info("id [{}]", id);
 
-        UserPointDto dbUser = pointService.selectPointByUserId(id);
-        dbUser.setPoint(10000L);
-        return ResponseEntity.ok().body(dbUser.getPoint());
+        return pointReadExecutor.supplyAsync(() -> {
+            UserPointDto dbUser = pointService.selectPointByUserId(id);
+            dbUser.setPoint(10000L);
+            return ResponseEntity.ok().body(dbUser.getPoint());
+        });
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
     @GetMapping("{id}/histories")
-    public ResponseEntity<List<PointHistoryDto>> history(@PathVariable(value = "id") long id) {
+    public CompletableFuture<ResponseEntity<PointHistoryPageDto>> history(@PathVariable(value = "id") long id,
+                                                       @RequestParam(value = "cursor", required = false) Long cursor,
+                                                       @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                       @RequestParam(value = "type", required = false) TransactionType type,
+                                                       @RequestParam(value = "from", required = false) Long from,
+                                                       @RequestParam(value = "to", required = false) Long to) {
+        log.info("id [{}] cursor [{}] limit [{}] from [{}] to [{}]", id, cursor, limit, from, to);
+
+        return pointReadExecutor.supplyAsync(() -> {
+            PointHistoryPageDto page = historyService.selectPointHistoryPage(id, cursor, limit, type, from, to);
+            return ResponseEntity.ok().body(page);
+        });
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 요약 (누적 충전/사용 포인트, 횟수, 최근 내역)
+     */
+    @GetMapping("{id}/histories/summary")
+    public CompletableFuture<ResponseEntity<PointHistorySummaryDto>> historySummary(@PathVariable(value = "id") long id) {
         log.info("id [{}]", id);
 
-        List<PointHistoryDto> userHistories = historyService.selectPointHistory(id);
-        return ResponseEntity.ok().body(userHistories);
+        return pointReadExecutor.supplyAsync(() -> ResponseEntity.ok().body(historyService.selectPointHistorySummary(id)));
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 전체 내역을 NDJSON 으로 내보내기
+     */
+    @GetMapping(value = "{id}/histories/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHistory(@PathVariable(value = "id") long id) {
+        log.info("id [{}]", id);
+
+        StreamingResponseBody body = outputStream -> historyExportService.exportPointHistory(id, outputStream);
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
     @PatchMapping(value = "{id}/charge")
-    public ResponseEntity<UserPointDto> charge(@PathVariable(value = "id")long id, @RequestParam(value = "amount")long amount) {
-        UserPointDto dto = chargeService.chargeUserPoint(id, amount);
-        return ResponseEntity.ok().body(dto);
+    public CompletableFuture<ResponseEntity<UserPointDto>> charge(@PathVariable(value = "id")long id, @RequestParam(value = "amount")long amount) {
+        return pointCommandExecutor.charge(id, amount)
+                .thenApply(dto -> ResponseEntity.ok().body(dto));
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
      */
     @PatchMapping(value = "{id}/use")
-    public ResponseEntity<UserPointDto> use(@PathVariable(value = "id")long id, @RequestParam(value = "amount")long amount) {
-        UserPointDto dto = useService.useUserPoint(id, amount);
-        return ResponseEntity.ok().body(dto);
+    public CompletableFuture<ResponseEntity<UserPointDto>> use(@PathVariable(value = "id")long id, @RequestParam(value = "amount")long amount) {
+        return pointCommandExecutor.use(id, amount)
+                .thenApply(dto -> ResponseEntity.ok().body(dto));
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용 일괄 처리
+     * - 요청마다 성공/실패 결과를 요청 순서대로 돌려준다.
+     */
+    @PostMapping(value = "batch")
+    public CompletableFuture<ResponseEntity<List<PointCommandResultDto>>> batch(@RequestBody List<PointCommandDto> commands,
+                                                                                @RequestHeader(value = PointShardRouter.FORWARDED_HEADER, required = false) String forwardedFrom,
+                                                                                HttpServletRequest request) {
+        return pointShardBatchService.executeBatch(commands, forwardedFrom, request.getRemoteAddr())
+                .thenApply(results -> ResponseEntity.ok().body(results));
+    }
+
+    /**
+     * 포인트 보류 - 사용 가능 포인트에서 amount 만큼 잡아두고, 확정하거나 해제할 때까지 다른 사용에 쓰이지 않게 한다.
+     * 같은 유저의 충전/사용과 같은 순서로 처리한다.
+     */
+    @PostMapping(value = "{id}/holds")
+    public CompletableFuture<ResponseEntity<PointHoldDto>> hold(@PathVariable(value = "id") long id, @RequestParam(value = "amount") long amount) {
+        log.info("id [{}] amount [{}]", id, amount);
+
+        return pointCommandExecutor.submit(id, () -> pointHoldService.hold(id, amount))
+                .thenApply(dto -> ResponseEntity.ok().body(dto));
+    }
+
+    /**
+     * 보류한 포인트 사용 확정 - 같은 유저의 충전/사용과 같은 순서로 처리한다.
+     */
+    @PostMapping(value = "{id}/holds/{holdId}/capture")
+    public CompletableFuture<ResponseEntity<UserPointDto>> capture(@PathVariable(value = "id") long id, @PathVariable(value = "holdId") long holdId) {
+        log.info("id [{}] holdId [{}]", id, holdId);
+
+        return pointCommandExecutor.submit(id, () -> pointHoldService.capture(id, holdId))
+                .thenApply(dto -> ResponseEntity.ok().body(dto));
+    }
+
+    /**
+     * 보류 해제 - 같은 유저의 충전/사용, 보류 확정과 같은 순서로 처리한다.
+     */
+    @DeleteMapping(value = "{id}/holds/{holdId}")
+    public CompletableFuture<ResponseEntity<PointHoldDto>> release(@PathVariable(value = "id") long id, @PathVariable(value = "holdId") long holdId) {
+        log.info("id [{}] holdId [{}]", id, holdId);
+
+        return pointCommandExecutor.submit(id, () -> pointHoldService.release(id, holdId))
+                .thenApply(dto -> ResponseEntity.ok().body(dto));
     }
 }
@@ -1,7 +1,10 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.hhplus.tdd.point.dto.PointHistoryDto;
+import io.hhplus.tdd.point.dto.PointHistorySerializer;
 
+@JsonSerialize(using = PointHistorySerializer.class)
 public record PointHistory(
         long id,
         long userId,
@@ -12,10 +15,10 @@ public record PointHistory(
     public PointHistoryDto toDto() {
         return PointHistoryDto.builder()
                 .id(this.id)
-                .id(this.userId)
-                .id(this.amount)
-                .id(this.type.ordinal())
-                .id(this.updateMillis)
+                .userId(this.userId)
+                .amount(this.amount)
+                .type(this.type)
+                .updateMilli(this.updateMillis)
                 .build();
     }
 }
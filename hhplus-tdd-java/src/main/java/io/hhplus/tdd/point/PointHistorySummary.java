@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.dto.PointActivityDto;
+import io.hhplus.tdd.point.dto.PointHistorySummaryDto;
+
+import java.util.List;
+
+/**
+ * 유저 포인트 내역 요약
+ * @param recentActivities 최근 내역 (최신순)
+ */
+public record PointHistorySummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long count,
+        long firstActivityMillis,
+        long lastActivityMillis,
+        List<Activity> recentActivities
+) {
+
+    public static PointHistorySummary empty(long userId) {
+        return new PointHistorySummary(userId, 0, 0, 0, 0, 0, List.of());
+    }
+
+    /**
+     * 최근 내역 한 건
+     * @param id 포인트 내역 id
+     */
+    public record Activity(
+            long id,
+            long amount,
+            TransactionType type,
+            long updateMillis
+    ) {
+        public PointActivityDto toDto() {
+            return PointActivityDto.builder()
+                    .id(this.id)
+                    .amount(this.amount)
+                    .type(this.type)
+                    .updateMillis(this.updateMillis)
+                    .build();
+        }
+    }
+
+    public PointHistorySummaryDto toDto() {
+        boolean hasActivity = this.count > 0;
+        return PointHistorySummaryDto.builder()
+                .userId(this.userId)
+                .totalCharged(this.totalCharged)
+                .totalUsed(this.totalUsed)
+                .count(this.count)
+                .firstActivityMillis(hasActivity ? this.firstActivityMillis : null)
+                .lastActivityMillis(hasActivity ? this.lastActivityMillis : null)
+                .recentActivities(this.recentActivities.stream().map(Activity::toDto).toList())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.dto.PointHoldDto;
+
+/**
+ * 포인트 보류 (사용 확정 또는 해제 전까지 잔고에서 따로 잡아둔 포인트)
+ * @param id 보류 id
+ * @param userId
+ * @param amount 보류한 포인트
+ * @param expiresAtMillis 만료 시각 (이후에는 확정할 수 없고 자동 해제된다.)
+ */
+public record PointHold(
+        long id,
+        long userId,
+        long amount,
+        long expiresAtMillis
+) {
+
+    public boolean isExpired(long now) {
+        return expiresAtMillis <= now;
+    }
+
+    public PointHoldDto toDto() {
+        return PointHoldDto.builder()
+                .id(this.id)
+                .userId(this.userId)
+                .amount(this.amount)
+                .expiresAtMillis(this.expiresAtMillis)
+                .build();
+    }
+}
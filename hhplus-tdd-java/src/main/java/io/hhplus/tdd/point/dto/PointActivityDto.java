@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.dto;
+
+import io.hhplus.tdd.point.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PointActivityDto {
+    private long id;                // 포인트 내역 id
+    private long amount;            // 충전/사용 포인트
+    private TransactionType type;   // 충전/사용 구분
+    private long updateMillis;      // 충전/사용 시각
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.dto;
+
+import io.hhplus.tdd.point.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PointCommandResultDto {
+    private int index;              // 요청 목록에서의 순서
+    private long userId;
+    private TransactionType type;
+    private long amount;
+    private boolean success;        // 처리 성공 여부
+    private Long point;             // 처리 후 유저 포인트 (실패 시 null)
+    private String code;            // 실패 코드 (성공 시 null)
+    private String message;         // 실패 메시지 (성공 시 null)
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.dto;
+
+import io.hhplus.tdd.point.PointHistory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PointHistoryPageDto {
+    private List<PointHistory> histories;       // 조회한 페이지의 내역 (PointHistorySerializer 로 바로 직렬화)
+    private Long nextCursor;                    // 다음 페이지 요청 시 사용할 cursor (마지막 페이지면 null)
+}
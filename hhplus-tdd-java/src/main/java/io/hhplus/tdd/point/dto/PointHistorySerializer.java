@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.IOException;
+
+/**
+ * 포인트 내역 JSON 직렬화
+ * - PointHistory 를 PointHistoryDto 로 바꾸지 않고 필드를 응답 스트림에 바로 쓴다.
+ * - 필드 이름은 PointHistoryDto 와 같다. (id, userId, amount, type, updateMilli)
+ *   내역 내보내기(HistoryExportService)도 writeFields 로 같은 이름을 쓴다.
+ */
+public class PointHistorySerializer extends StdSerializer<PointHistory> {
+
+    public PointHistorySerializer() {
+        super(PointHistory.class);
+    }
+
+    @Override
+    public void serialize(PointHistory history, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        writeFields(generator, history.id(), history.userId(), history.amount(), history.type(), history.updateMillis());
+        generator.writeEndObject();
+    }
+
+    /**
+     * 포인트 내역 필드 쓰기 (객체 시작/끝은 호출하는 쪽에서 쓴다.)
+     * @param generator
+     * @param id
+     * @param userId
+     * @param amount
+     * @param type
+     * @param updateMillis
+     */
+    public static void writeFields(JsonGenerator generator, long id, long userId, long amount, TransactionType type, long updateMillis) throws IOException {
+        generator.writeNumberField("id", id);
+        generator.writeNumberField("userId", userId);
+        generator.writeNumberField("amount", amount);
+        if (type == null) {
+            generator.writeNullField("type");
+        } else {
+            generator.writeStringField("type", type.name());
+        }
+        generator.writeNumberField("updateMilli", updateMillis);
+    }
+}
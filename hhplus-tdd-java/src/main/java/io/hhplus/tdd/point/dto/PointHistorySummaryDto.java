@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PointHistorySummaryDto {
+    private long userId;
+    private long totalCharged;                      // 누적 충전 포인트
+    private long totalUsed;                         // 누적 사용 포인트
+    private long count;                             // 충전/사용 횟수
+    private Long firstActivityMillis;               // 첫 충전/사용 시각 (내역이 없으면 null)
+    private Long lastActivityMillis;                // 마지막 충전/사용 시각 (내역이 없으면 null)
+    private List<PointActivityDto> recentActivities;    // 최근 내역 (최신순)
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PointHoldDto {
+    private long id;                // 보류 id
+    private long userId;            // 유저 id
+    private long amount;            // 보류한 포인트
+    private long expiresAtMillis;   // 만료 시각
+}
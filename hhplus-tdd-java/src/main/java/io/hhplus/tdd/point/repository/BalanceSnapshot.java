@@ -0,0 +1,148 @@
+package io.hhplus.tdd.point.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 유저 잔고 바이너리 스냅샷
+ * - [magic, 이어서 적용할 로그 파일 번호] [userId, point, updateMillis] * N [N, magic]
+ * - 임시 파일에 모두 쓰고 fsync 한 뒤 이름을 바꾸므로, 완성된 스냅샷만 snapshot-*.bin 으로 보인다.
+ */
+public final class BalanceSnapshot {
+    private static final long MAGIC = 0x504F494E54534E50L;     // "POINTSNP"
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 24;
+    private static final int FOOTER_BYTES = 16;
+    private static final int BUFFER_BYTES = RECORD_BYTES * 64 * 1024;
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{19})\\.bin");
+
+    private BalanceSnapshot() {
+    }
+
+    /**
+     * 스냅샷 쓰기
+     * @param directory
+     * @param walIndex 스냅샷 이후 이어서 적용할 로그 파일 번호
+     * @param balances
+     * @return 스냅샷 파일
+     */
+    public static Path write(Path directory, long walIndex, LongBalanceStore balances) throws IOException {
+        String name = String.format("snapshot-%019d", walIndex);
+        Path temp = directory.resolve(name + ".tmp");
+        Path target = directory.resolve(name + ".bin");
+        long[] count = {0L};
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            buffer.putLong(MAGIC).putLong(walIndex);
+            balances.forEach((userId, point, updateMillis) -> {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    drain(out, buffer);
+                }
+                buffer.putLong(userId).putLong(point).putLong(updateMillis);
+                count[0]++;
+            });
+            if (buffer.remaining() < FOOTER_BYTES) {
+                drain(out, buffer);
+            }
+            buffer.putLong(count[0]).putLong(MAGIC);
+            drain(out, buffer);
+            out.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        //새 스냅샷이 완성된 뒤에 이전 스냅샷 삭제
+        for (Path snapshot : snapshots(directory)) {
+            if (!snapshot.equals(target)) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 스냅샷 읽기
+     * @param file
+     * @param visitor
+     * @return 스냅샷 이후 이어서 적용할 로그 파일 번호
+     */
+    public static long read(Path file, LongBalanceStore.Visitor visitor) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_BYTES);
+            in.read(footer, size - FOOTER_BYTES);
+            footer.flip();
+            long count = footer.getLong();
+            if (footer.getLong() != MAGIC || size != HEADER_BYTES + count * RECORD_BYTES + FOOTER_BYTES) {
+                throw new IllegalStateException("잔고 스냅샷 파일이 올바르지 않습니다. [" + file + "]");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            readFully(in, buffer, HEADER_BYTES);
+            if (buffer.getLong() != MAGIC) {
+                throw new IllegalStateException("잔고 스냅샷 파일이 올바르지 않습니다. [" + file + "]");
+            }
+            long walIndex = buffer.getLong();
+            buffer.compact();
+
+            long remaining = count;
+            while (remaining > 0) {
+                readFully(in, buffer, (int) Math.min((long) BUFFER_BYTES, remaining * RECORD_BYTES));
+                while (buffer.remaining() >= RECORD_BYTES) {
+                    visitor.visit(buffer.getLong(), buffer.getLong(), buffer.getLong());
+                    remaining--;
+                }
+                buffer.compact();
+            }
+            return walIndex;
+        }
+    }
+
+    /**
+     * 가장 최근 스냅샷
+     * @param directory
+     * @return 없으면 null
+     */
+    public static Path latest(Path directory) throws IOException {
+        List<Path> snapshots = snapshots(directory);
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> list = Files.list(directory)) {
+            return list.filter(path -> SNAPSHOT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * 버퍼에 최소 bytes 만큼 채운 뒤 읽기 모드로 전환
+     */
+    private static void readFully(FileChannel in, ByteBuffer buffer, int bytes) throws IOException {
+        while (buffer.position() < bytes) {
+            if (in.read(buffer) < 0) {
+                throw new IllegalStateException("잔고 스냅샷 파일이 예상보다 짧습니다.");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
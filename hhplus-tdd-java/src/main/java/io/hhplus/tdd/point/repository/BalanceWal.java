@@ -0,0 +1,291 @@
+package io.hhplus.tdd.point.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 유저 잔고 write-ahead log
+ * - 충전/사용 결과(유저 id, 잔고, 갱신 시각)를 32 bytes 레코드로 파일 끝에 추가한다. [userId, point, updateMillis, checksum]
+ * - 그룹 커밋 : 등록한 레코드는 버퍼에 모으고, 기록 스레드가 모인 레코드를 한 번에 쓰고 fsync 한다.
+ *   등록한 쪽은 자신의 레코드가 fsync 될 때까지 대기하므로 fsync 한 번으로 여러 요청이 함께 완료된다.
+ * - 스냅샷을 만들 때마다 새 파일로 교체(rotate)하고, 스냅샷에 포함된 이전 파일은 삭제한다.
+ * - 레코드는 변경량이 아니라 변경 후 잔고이므로 같은 레코드를 다시 적용해도 결과가 같다.
+ */
+public class BalanceWal implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(BalanceWal.class);
+
+    static final int RECORD_BYTES = 32;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    private static final Pattern WAL_NAME = Pattern.compile("wal-(\\d{19})\\.log");
+
+    private final Path directory;               // 로그 파일 디렉토리
+    private final long groupCommitNanos;        // 기록 전에 레코드를 더 모으는 시간 (0 이면 바로 기록)
+    private final CRC32C checksum = new CRC32C();
+    private final Thread flusher;               // 기록 스레드
+    private FileChannel channel;                // 현재 로그 파일
+    private long fileIndex;                     // 현재 로그 파일 번호
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);     // 기록 대기 레코드
+    private ByteBuffer flushing = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);    // 기록 중인 레코드
+    private long appendedSequence;              // 등록한 레코드 수
+    private long durableSequence;               // fsync 완료한 레코드 수
+    private long rotatedSequence;               // 마지막 교체 시점의 레코드 수
+    private IOException failure;                // 기록 실패 (이후 등록은 모두 실패)
+    private boolean running = true;
+
+    /**
+     * @param directory 로그 파일 디렉토리
+     * @param fileIndex 새로 기록할 로그 파일 번호
+     * @param threadFactory 기록 스레드 생성
+     * @param groupCommitMicros 기록 전에 레코드를 더 모으는 시간 (μs)
+     */
+    public BalanceWal(Path directory, long fileIndex, ThreadFactory threadFactory, long groupCommitMicros) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.groupCommitNanos = TimeUnit.MICROSECONDS.toNanos(groupCommitMicros);
+        this.fileIndex = fileIndex;
+        this.channel = open(fileIndex);
+        this.flusher = threadFactory.newThread(this::flushLoop);
+        flusher.start();
+    }
+
+    /**
+     * 레코드 등록 (버퍼에만 추가)
+     * @param userId
+     * @param point
+     * @param updateMillis
+     * @return 레코드 순번 (awaitDurable 로 fsync 완료 대기)
+     */
+    public synchronized long append(long userId, long point, long updateMillis) {
+        if (failure != null) {
+            throw new UncheckedIOException("잔고 로그 기록에 실패했습니다.", failure);
+        }
+        if (pending.remaining() < RECORD_BYTES) {
+            ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        int start = pending.position();
+        pending.putLong(userId).putLong(point).putLong(updateMillis);
+        checksum.reset();
+        checksum.update(pending.array(), start, RECORD_BYTES - Long.BYTES);
+        pending.putLong(checksum.getValue());
+        appendedSequence++;
+        notifyAll();
+        return appendedSequence;
+    }
+
+    /**
+     * 레코드가 fsync 될 때까지 대기
+     * @param sequence append 가 반환한 순번
+     */
+    public synchronized void awaitDurable(long sequence) {
+        boolean interrupted = false;
+        while (durableSequence < sequence && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                //기록 여부를 확정할 때까지 대기해야 하므로 인터럽트는 대기 후 복원한다.
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (durableSequence < sequence) {
+            throw new UncheckedIOException("잔고 로그 기록에 실패했습니다.", failure);
+        }
+    }
+
+    /**
+     * 새 로그 파일로 교체
+     * - 호출하는 쪽은 교체하는 동안 새 레코드가 등록되지 않도록 막아야 한다.
+     * @return 새 로그 파일 번호
+     */
+    public synchronized long rotate() throws IOException {
+        awaitDurable(appendedSequence);
+        channel.force(true);
+        channel.close();
+        fileIndex++;
+        channel = open(fileIndex);
+        rotatedSequence = appendedSequence;
+        return fileIndex;
+    }
+
+    /**
+     * 현재 로그 파일에 등록한 레코드가 있는지 여부
+     * @return boolean
+     */
+    public synchronized boolean hasRecordsSinceRotate() {
+        return appendedSequence > rotatedSequence;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    /**
+     * 로그 파일 번호 fromIndex 이상의 레코드를 순서대로 적용
+     * - 마지막에 완전히 기록되지 않은 레코드(checksum 불일치, 크기 부족)부터는 적용하지 않는다.
+     * @param directory
+     * @param fromIndex
+     * @param visitor
+     * @return 다음에 기록할 로그 파일 번호
+     */
+    public static long replay(Path directory, long fromIndex, LongBalanceStore.Visitor visitor) throws IOException {
+        long nextIndex = fromIndex;
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 32 * 1024);
+        for (Path file : walFiles(directory)) {
+            long index = indexOf(file);
+            if (index < fromIndex) {
+                continue;
+            }
+            nextIndex = index + 1;
+            long records = 0;
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer.clear();
+                replayFile:
+                while (in.read(buffer) > 0 || buffer.position() > 0) {
+                    buffer.flip();
+                    if (buffer.remaining() < RECORD_BYTES && in.position() == in.size()) {
+                        break;
+                    }
+                    while (buffer.remaining() >= RECORD_BYTES) {
+                        int start = buffer.position();
+                        crc.reset();
+                        crc.update(buffer.array(), start, RECORD_BYTES - Long.BYTES);
+                        long userId = buffer.getLong();
+                        long point = buffer.getLong();
+                        long updateMillis = buffer.getLong();
+                        if (buffer.getLong() != crc.getValue()) {
+                            log.warn("잔고 로그 손상 레코드 이후는 적용하지 않습니다. [{}] 위치 [{}]", file, records * RECORD_BYTES);
+                            break replayFile;
+                        }
+                        visitor.visit(userId, point, updateMillis);
+                        records++;
+                    }
+                    buffer.compact();
+                }
+            }
+            log.info("잔고 로그 적용 [{}] 레코드 [{}]", file.getFileName(), records);
+        }
+        return nextIndex;
+    }
+
+    /**
+     * 로그 파일 번호 beforeIndex 미만의 로그 파일 삭제 (스냅샷에 포함된 로그)
+     * @param directory
+     * @param beforeIndex
+     */
+    public static void deleteBefore(Path directory, long beforeIndex) throws IOException {
+        for (Path file : walFiles(directory)) {
+            if (indexOf(file) < beforeIndex) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            FileChannel target;
+            long sequence;
+            synchronized (this) {
+                while (running && pending.position() == 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        running = false;
+                    }
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+            }
+            if (groupCommitNanos > 0) {
+                LockSupport.parkNanos(groupCommitNanos);
+            }
+            synchronized (this) {
+                batch = pending;
+                pending = flushing;
+                flushing = batch;
+                target = channel;
+                sequence = appendedSequence;
+            }
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    target.write(batch);
+                }
+                target.force(false);
+            } catch (IOException e) {
+                log.error("잔고 로그 기록 실패", e);
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+            synchronized (this) {
+                durableSequence = sequence;
+                notifyAll();
+            }
+        }
+    }
+
+    private FileChannel open(long index) throws IOException {
+        return FileChannel.open(directory.resolve(String.format("wal-%019d.log", index)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static List<Path> walFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> list = Files.list(directory)) {
+            return list.filter(path -> WAL_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long indexOf(Path file) {
+        Matcher matcher = WAL_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("잔고 로그 파일 이름이 아닙니다. [" + file + "]");
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
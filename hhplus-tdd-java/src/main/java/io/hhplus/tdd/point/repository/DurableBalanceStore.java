@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 재시작 후에도 유지되는 유저 잔고 저장 공간
+ * - 저장은 잔고 로그(WAL)에 fsync 한 뒤 메모리 저장 공간에 반영한다.
+ * - 주기적으로 전체 잔고 스냅샷을 만들고, 스냅샷에 포함된 로그는 삭제한다.
+ * - 시작 시 가장 최근 스냅샷을 읽고 그 이후의 로그만 다시 적용하므로 복구 시간은 전체 내역이 아니라 유저 수에 비례한다.
+ */
+public class DurableBalanceStore implements UserPointStore, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(DurableBalanceStore.class);
+
+    private final LongBalanceStore balances;        // 메모리 잔고 저장 공간
+    private final Path directory;                   // 스냅샷/로그 디렉토리
+    private final BalanceWal wal;                   // 잔고 로그
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();  // 로그 교체 중에는 저장 대기
+
+    /**
+     * @param balances 복구한 잔고를 담을 메모리 저장 공간
+     * @param directory 스냅샷/로그 디렉토리
+     * @param threadFactory 로그 기록 스레드 생성
+     * @param groupCommitMicros 로그 기록 전에 레코드를 더 모으는 시간 (μs)
+     */
+    public DurableBalanceStore(LongBalanceStore balances, Path directory, ThreadFactory threadFactory, long groupCommitMicros) throws IOException {
+        this.balances = balances;
+        this.directory = Files.createDirectories(directory);
+
+        long startedAt = System.currentTimeMillis();
+        long walIndex = 0;
+        Path snapshot = BalanceSnapshot.latest(directory);
+        if (snapshot != null) {
+            walIndex = BalanceSnapshot.read(snapshot, balances::save);
+        }
+        long nextWalIndex = BalanceWal.replay(directory, walIndex, balances::save);
+        //마지막 로그 파일 끝이 완전히 기록되지 않았을 수 있으므로 항상 새 로그 파일에 이어서 기록한다.
+        this.wal = new BalanceWal(directory, nextWalIndex, threadFactory, groupCommitMicros);
+        log.info("잔고 복구 스냅샷 [{}] 유저 [{}] 소요 [{}]ms", snapshot, balances.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @Override
+    public UserPoint findById(long userId) {
+        return balances.findById(userId);
+    }
+
+    @Override
+    public UserPoint save(long userId, long point, long updateMillis) {
+        rotationLock.readLock().lock();
+        try {
+            wal.awaitDurable(wal.append(userId, point, updateMillis));
+            return balances.save(userId, point, updateMillis);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return balances.size();
+    }
+
+    /**
+     * 전체 잔고 스냅샷 생성
+     * - 로그를 새 파일로 교체한 시점에는 이전 로그의 모든 레코드가 메모리에 반영되어 있다.
+     * - 스냅샷을 쓰는 동안의 저장은 새 로그에 기록되므로, 복구 시 스냅샷 이후 다시 적용된다.
+     */
+    @Scheduled(fixedDelayString = "${point.balance.durable.snapshot-interval-millis:60000}")
+    public synchronized void snapshot() {
+        if (!wal.hasRecordsSinceRotate()) {
+            return;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            long walIndex;
+            rotationLock.writeLock().lock();
+            try {
+                walIndex = wal.rotate();
+            } finally {
+                rotationLock.writeLock().unlock();
+            }
+            Path snapshot = BalanceSnapshot.write(directory, walIndex, balances);
+            BalanceWal.deleteBefore(directory, walIndex);
+            log.info("잔고 스냅샷 [{}] 유저 [{}] 소요 [{}]ms", snapshot.getFileName(), balances.size(), System.currentTimeMillis() - startedAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔고 스냅샷을 만들 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        wal.close();
+    }
+}
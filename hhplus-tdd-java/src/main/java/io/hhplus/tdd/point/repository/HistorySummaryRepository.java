@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistorySummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 포인트 내역 요약 저장소
+ * - 내역이 저장될 때마다(PointHistoryAppender) 유저별 집계를 갱신하므로 요약 조회는 포인트 내역을 다시 읽지 않는다.
+ *   따라서 요약은 /histories 와 같이 저장된 내역까지만 반영하고, 최근 내역에는 저장된 내역 id 가 들어간다.
+ * - 집계는 메모리에만 있다. 재시작 후 유저를 처음 조회/갱신할 때 포인트 내역 저장 공간을 한 번 읽어서 다시 만든다.
+ *   (mapped-history 프로필은 재시작 전 내역이 그대로 반영되고, 포인트 내역 테이블은 재시작하면 비어 있으므로 빈 요약이 된다.)
+ */
+@Repository
+public class HistorySummaryRepository {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;  // 요약을 다시 만들 때 한 번에 읽는 내역 수
+
+    private final PointHistoryRepository pointHistoryRepository;    // 요약을 다시 만들 때 읽는 포인트 내역 저장소
+    private final int recentSize;       // 유저별로 보관할 최근 내역 수
+    private final ConcurrentHashMap<Long, UserHistorySummary> summaries = new ConcurrentHashMap<>();
+
+    public HistorySummaryRepository(PointHistoryRepository pointHistoryRepository,
+                                    @Value("${point.history.summary.recent-size:10}") int recentSize) {
+        if (recentSize < 0) throw new IllegalArgumentException("최근 내역 수는 0 이상이어야 합니다. [" + recentSize + "]");
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.recentSize = recentSize;
+    }
+
+    /**
+     * 저장된 포인트 내역 한 건 반영
+     * - 요약을 다시 만들 때 이미 읽은 내역이면 무시한다.
+     * @param history
+     */
+    public void record(PointHistory history) {
+        summaryOf(history.userId()).record(history);
+    }
+
+    /**
+     * 유저 내역 요약 조회
+     * @param userId
+     * @return 내역이 없으면 빈 요약
+     */
+    public PointHistorySummary findByUserId(long userId) {
+        return summaryOf(userId).snapshot();
+    }
+
+    private UserHistorySummary summaryOf(long userId) {
+        UserHistorySummary summary = summaries.get(userId);
+        if (summary != null) return summary;
+        //저장 공간 읽기는 맵 밖에서 하고, 동시에 다시 만든 경우 먼저 등록된 요약을 사용한다.
+        UserHistorySummary rebuilt = rebuild(userId);
+        summary = summaries.putIfAbsent(userId, rebuilt);
+        return summary == null ? rebuilt : summary;
+    }
+
+    /**
+     * 포인트 내역 저장 공간에서 유저의 요약을 다시 만든다.
+     * @param userId
+     * @return UserHistorySummary
+     */
+    private UserHistorySummary rebuild(long userId) {
+        UserHistorySummary summary = new UserHistorySummary(userId, recentSize);
+        try {
+            long cursor = 0;
+            int read;
+            do {
+                read = pointHistoryRepository.forEachByUserIdAfter(userId, cursor, REBUILD_PAGE_SIZE, summary::load);
+                cursor = summary.getLoadedUpTo();
+            } while (read == REBUILD_PAGE_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 요약을 다시 만들지 못했습니다. [" + userId + "]", e);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,216 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.IOException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 배열 기반 유저 포인트 저장 공간 (open addressing, linear probing)
+ * - 유저 한 명을 [userId, point, updateMillis] 세 개의 long(24 bytes)으로 하나의 배열에 연속으로 저장한다.
+ * - 슬롯 수는 2의 거듭제곱(인덱스를 비트 마스크로 계산)이고 부하율 0.8 을 넘으면 두 배로 늘리므로,
+ *   실제 메모리는 유저당 24 bytes 가 아니라 부하율에 따라 30(0.8) ~ 60(0.4) bytes 다.
+ *   예) 예상 유저 100만 명 => 슬롯 2^21 개 = 48MB (유저당 약 50 bytes)
+ * - Long 박싱, 엔트리 객체, UserPoint 객체를 저장하지 않으므로 유저 수가 늘어도 GC 가 추적할 객체 수는 배열 하나로 일정하다.
+ * - 조회는 낙관적 읽기(StampedLock)로 락 없이 처리하고, 쓰기 도중이었으면 읽기 락으로 다시 조회한다.
+ * - 유저 삭제는 지원하지 않는다. (유저 포인트 테이블도 삭제 API 가 없다)
+ */
+public class LongBalanceStore implements UserPointStore {
+    private static final int SLOT_WIDTH = 3;                        // userId, point, updateMillis
+    private static final int MAX_SLOTS = 1 << 29;                   // 배열 최대 길이(int) 안에 들어가는 슬롯 수
+    private static final double MAX_LOAD_FACTOR = 0.8;              // 이 비율을 넘으면 두 배로 늘린다.
+    private static final long EMPTY = 0L;                           // 빈 슬롯 (userId 0 은 별도 필드에 저장)
+    private static final int FOR_EACH_CHUNK_SLOTS = 4096;           // 전체 순회 시 한 번에 읽기 락을 잡는 슬롯 수
+
+    private final StampedLock lock = new StampedLock();
+    private long[] slots;               // [userId, point, updateMillis] 반복
+    private int size;                   // 저장된 유저 수 (userId 0 제외)
+    private int resizeThreshold;        // 늘리기 전 최대 유저 수
+    private boolean hasZeroUser;        // userId 0 저장 여부
+    private long zeroUserPoint;
+    private long zeroUserUpdateMillis;
+
+    /**
+     * @param expectedUsers 예상 유저 수 (배열을 다시 만들지 않도록 미리 확보, expectedUsers / 0.8 이상인 2의 거듭제곱 슬롯)
+     */
+    public LongBalanceStore(int expectedUsers) {
+        allocate(slotCountFor(expectedUsers));
+    }
+
+    @Override
+    public UserPoint findById(long userId) {
+        long stamp = lock.tryOptimisticRead();
+        UserPoint found = find(slots, userId);
+        if (lock.validate(stamp)) {
+            return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(slots, userId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public UserPoint save(long userId, long point, long updateMillis) {
+        long stamp = lock.writeLock();
+        try {
+            if (userId == EMPTY) {
+                hasZeroUser = true;
+                zeroUserPoint = point;
+                zeroUserUpdateMillis = updateMillis;
+            } else if (put(slots, userId, point, updateMillis) && ++size > resizeThreshold) {
+                resize();
+            }
+            return new UserPoint(userId, point, updateMillis);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size + (hasZeroUser ? 1 : 0);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 현재 확보한 배열 크기 (bytes)
+     * @return long
+     */
+    public long allocatedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) slots.length * Long.BYTES;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 저장된 모든 유저 순회
+     * - 쓰기를 오래 막지 않도록 일정 개수의 슬롯마다 읽기 락을 다시 잡는다.
+     * - 순회 도중 배열이 늘어나면 처음부터 다시 읽으므로 같은 유저를 두 번 전달할 수 있다. (나중 값이 최신 값)
+     * @param visitor
+     */
+    public void forEach(Visitor visitor) throws IOException {
+        long stamp = lock.readLock();
+        try {
+            if (hasZeroUser) {
+                visitor.visit(EMPTY, zeroUserPoint, zeroUserUpdateMillis);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        long[] table = null;
+        int base = 0;
+        while (true) {
+            stamp = lock.readLock();
+            try {
+                if (table != slots) {
+                    table = slots;
+                    base = 0;
+                }
+                int end = Math.min(table.length, base + FOR_EACH_CHUNK_SLOTS * SLOT_WIDTH);
+                for (; base < end; base += SLOT_WIDTH) {
+                    if (table[base] != EMPTY) {
+                        visitor.visit(table[base], table[base + 1], table[base + 2]);
+                    }
+                }
+                if (base >= table.length) {
+                    return;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * 슬롯 조회 (낙관적 읽기 중에는 다른 스레드가 쓰는 중일 수 있으므로 전달받은 배열 범위 안에서만 탐색)
+     */
+    private UserPoint find(long[] table, long userId) {
+        if (userId == EMPTY) {
+            return hasZeroUser ? new UserPoint(userId, zeroUserPoint, zeroUserUpdateMillis) : null;
+        }
+        int mask = table.length / SLOT_WIDTH - 1;
+        int index = indexOf(userId, mask);
+        for (int probe = 0; probe <= mask; probe++) {
+            int base = index * SLOT_WIDTH;
+            long key = table[base];
+            if (key == userId) {
+                return new UserPoint(userId, table[base + 1], table[base + 2]);
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * 슬롯 추가/갱신
+     * @return 새로 추가했으면 true
+     */
+    private static boolean put(long[] table, long userId, long point, long updateMillis) {
+        int mask = table.length / SLOT_WIDTH - 1;
+        int index = indexOf(userId, mask);
+        while (true) {
+            int base = index * SLOT_WIDTH;
+            long key = table[base];
+            if (key == EMPTY || key == userId) {
+                table[base] = userId;
+                table[base + 1] = point;
+                table[base + 2] = updateMillis;
+                return key == EMPTY;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void resize() {
+        long[] old = slots;
+        allocate(old.length / SLOT_WIDTH * 2);
+        for (int base = 0; base < old.length; base += SLOT_WIDTH) {
+            if (old[base] != EMPTY) {
+                put(slots, old[base], old[base + 1], old[base + 2]);
+            }
+        }
+    }
+
+    private void allocate(int slotCount) {
+        if (slotCount > MAX_SLOTS) {
+            throw new IllegalStateException("저장할 수 있는 최대 유저 수를 초과했습니다. [" + size + "]");
+        }
+        this.slots = new long[slotCount * SLOT_WIDTH];
+        this.resizeThreshold = (int) (slotCount * MAX_LOAD_FACTOR);
+    }
+
+    private static int slotCountFor(int expectedUsers) {
+        long required = (long) Math.ceil(Math.max(expectedUsers, 1) / MAX_LOAD_FACTOR) + 1;
+        if (required > MAX_SLOTS) {
+            return MAX_SLOTS;
+        }
+        return Math.max(16, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+    private static int indexOf(long userId, int mask) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * 유저 포인트 필드를 그대로 전달받는 방문자
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long userId, long point, long updateMillis) throws IOException;
+    }
+}
@@ -0,0 +1,426 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑 파일 포인트 내역 로그 (mapped-history 프로필)
+ * - 내역을 고정 크기(40 bytes) 레코드로 세그먼트 파일 끝에 추가만 한다.
+ *   [id(8), userId(8), amount(8), updateMillis(8), type(4), checksum(4)]
+ *   checksum 은 앞의 36 bytes 의 CRC32C 이다.
+ * - 유저별 레코드 위치 인덱스(id 오름차순, 시각 오름차순, 레코드당 16 bytes)를 메모리에 두고,
+ *   cursor 나 기간의 시작/끝 위치를 이진 탐색으로 찾아 limit 개만 읽는다.
+ *   다른 유저의 내역이나 범위 밖의 내역은 읽지 않는다.
+ * - 추가는 id/위치 할당과 40 bytes 쓰기, 인덱스 추가만 락 안에서 처리한다.
+ * - 조회는 매핑된 버퍼에서 필드를 바로 읽어 전달한다. (forEachByUserIdAfter)
+ * - 재시작 시 세그먼트를 순서대로 읽어서 유저별 인덱스와 다음 id 를 복구한다. (인덱스는 메모리에만 있다.)
+ *   id 가 0 이거나, checksum 이 맞지 않거나, id 가 이어지지 않는 레코드를 로그의 끝으로 보고
+ *   그 이후의 레코드와 세그먼트는 지운다. (지우지 않으면 새로 쓴 레코드 뒤에 이전 레코드가 이어져 보일 수 있다.)
+ * - 저장 보장 : 추가한 내역은 프로세스가 종료되어도 OS 페이지 캐시에 남으므로 유실되지 않는다.
+ *   OS 나 전원 장애 시에는 마지막 force 이후(최대 point.history.log.force-interval-millis)의 내역이 유실될 수 있다.
+ *   매핑된 페이지가 디스크에 기록되는 순서는 보장되지 않으므로 일부만 기록된 레코드는 checksum 으로 걸러낸다.
+ */
+public class MappedPointHistoryStore implements PointHistoryStore, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(MappedPointHistoryStore.class);
+
+    static final int RECORD_BYTES = 40;
+    private static final int ID = 0;
+    private static final int USER_ID = 8;
+    private static final int AMOUNT = 16;
+    private static final int UPDATE_MILLIS = 24;
+    private static final int TYPE = 32;
+    private static final int CHECKSUM = 36;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final Pattern SEGMENT_NAME = Pattern.compile("history-(\\d{6})\\.log");
+
+    private final Path directory;                   // 세그먼트 파일 디렉토리
+    private final long segmentBytes;                // 세그먼트 파일 크기
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<Long, UserOffsets> users = new ConcurrentHashMap<>();  // 유저 id 별 레코드 위치 인덱스
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();   // 레코드 checksum (appendLock 안에서 사용)
+    private long nextId = 1;                        // 다음 내역 id
+    private long writeOffset;                       // 다음 레코드 위치 (전체 로그 기준)
+    private long forcedOffset;                      // 디스크에 기록한 위치 (force)
+
+    /**
+     * @param directory 세그먼트 파일 디렉토리
+     * @param recordsPerSegment 세그먼트 파일 하나에 저장할 레코드 수
+     */
+    public MappedPointHistoryStore(Path directory, int recordsPerSegment) throws IOException {
+        if ((long) recordsPerSegment * RECORD_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("세그먼트 크기는 2GB 를 넘을 수 없습니다. [" + recordsPerSegment + "]");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = (long) recordsPerSegment * RECORD_BYTES;
+        recover();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        appendLock.lock();
+        try {
+            long id = nextId;
+            long offset = writeOffset;
+            MappedByteBuffer segment = segmentForAppend(offset);
+            int position = positionOf(offset);
+            UserOffsets offsets = users.computeIfAbsent(userId, key -> new UserOffsets());
+            segment.putLong(position + USER_ID, userId);
+            segment.putLong(position + AMOUNT, amount);
+            segment.putLong(position + UPDATE_MILLIS, updateMillis);
+            segment.putInt(position + TYPE, type.ordinal());
+            segment.putLong(position + ID, id);
+            segment.putInt(position + CHECKSUM, checksumOf(segment, position, checksum));
+
+            nextId++;
+            writeOffset += RECORD_BYTES;
+            //인덱스에 추가한 이후에 조회하는 쪽은 위에서 쓴 레코드를 볼 수 있다.
+            offsets.add(offset);
+            return new PointHistory(id, userId, amount, type, updateMillis);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        return findAllByUserIdAfter(userId, 0L, Integer.MAX_VALUE, history -> true);
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserIdAfter(long userId, long cursor, int limit, Predicate<PointHistory> condition) {
+        Span span = spanAfter(userId, cursor);
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, span.size()));
+        for (int i = span.from(); i < span.to() && page.size() < limit; i++) {
+            PointHistory history = read(span.offsets()[i]);
+            if (condition.test(history)) {
+                page.add(history);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserIdBetween(long userId, long fromMillis, long toMillis, long cursor, int limit, Predicate<PointHistory> condition) {
+        UserOffsets offsets = users.get(userId);
+        return offsets == null ? List.of() : offsets.between(fromMillis, toMillis, cursor, limit, condition);
+    }
+
+    @Override
+    public int forEachByUserIdAfter(long userId, long cursor, int limit, Visitor visitor) throws IOException {
+        Span span = spanAfter(userId, cursor);
+        int visited = Math.min(limit, span.size());
+        for (int i = 0; i < visited; i++) {
+            long offset = span.offsets()[span.from() + i];
+            MappedByteBuffer segment = segments.get(segmentOf(offset));
+            int position = positionOf(offset);
+            visitor.visit(segment.getLong(position + ID),
+                    segment.getLong(position + USER_ID),
+                    segment.getLong(position + AMOUNT),
+                    TYPES[segment.getInt(position + TYPE)],
+                    segment.getLong(position + UPDATE_MILLIS));
+        }
+        return visited;
+    }
+
+    /**
+     * 저장된 내역 수
+     * @return long
+     */
+    public long size() {
+        appendLock.lock();
+        try {
+            return writeOffset / RECORD_BYTES;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 force 이후 추가한 레코드가 있는 세그먼트를 디스크에 기록
+     * - 디스크 기록은 락 밖에서 하므로 그동안에도 추가할 수 있다.
+     */
+    @Scheduled(fixedDelayString = "${point.history.log.force-interval-millis:1000}")
+    public synchronized void force() {
+        long target;
+        appendLock.lock();
+        try {
+            target = writeOffset;
+        } finally {
+            appendLock.unlock();
+        }
+        if (target == forcedOffset) {
+            return;
+        }
+        for (int index = segmentOf(forcedOffset); index <= segmentOf(target - 1); index++) {
+            segments.get(index).force();
+        }
+        forcedOffset = target;
+    }
+
+    /**
+     * 매핑된 세그먼트를 디스크에 기록
+     */
+    @Override
+    public void close() {
+        force();
+    }
+
+    /**
+     * cursor(id) 보다 큰 유저 레코드 위치 범위 (id 오름차순)
+     */
+    private Span spanAfter(long userId, long cursor) {
+        UserOffsets offsets = users.get(userId);
+        return offsets == null ? Span.EMPTY : offsets.after(cursor);
+    }
+
+    private PointHistory read(long offset) {
+        MappedByteBuffer segment = segments.get(segmentOf(offset));
+        int position = positionOf(offset);
+        return new PointHistory(segment.getLong(position + ID),
+                segment.getLong(position + USER_ID),
+                segment.getLong(position + AMOUNT),
+                TYPES[segment.getInt(position + TYPE)],
+                segment.getLong(position + UPDATE_MILLIS));
+    }
+
+    /**
+     * 추가할 위치의 세그먼트 (현재 세그먼트가 가득 찼으면 새로 생성)
+     */
+    private MappedByteBuffer segmentForAppend(long offset) {
+        int index = segmentOf(offset);
+        if (index == segments.size()) {
+            try {
+                segments.add(map(segmentPath(index)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("포인트 내역 세그먼트를 만들 수 없습니다. [" + index + "]", e);
+            }
+        }
+        return segments.get(index);
+    }
+
+    /**
+     * 세그먼트를 순서대로 읽어서 유저별 인덱스, 다음 id, 다음 위치 복구
+     * - 로그의 끝(id 0, checksum 불일치, id 불연속) 이후의 레코드와 세그먼트는 지운다.
+     */
+    private void recover() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+        CRC32C crc = new CRC32C();
+        boolean ended = false;
+        for (int index = 0; index < files.size(); index++) {
+            Path file = files.get(index);
+            if (ended) {
+                log.warn("포인트 내역 로그의 끝 이후 세그먼트를 지웁니다. [{}]", file);
+                Files.delete(file);
+                continue;
+            }
+            Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+            if (!matcher.matches() || Integer.parseInt(matcher.group(1)) != index || Files.size(file) != segmentBytes) {
+                throw new IllegalStateException("포인트 내역 세그먼트 파일이 올바르지 않습니다. [" + file + "]");
+            }
+            MappedByteBuffer segment = map(file);
+            segments.add(segment);
+            for (int position = 0; position < segmentBytes; position += RECORD_BYTES) {
+                long id = segment.getLong(position + ID);
+                if (id == 0) {
+                    ended = true;
+                } else if (id != nextId || segment.getInt(position + CHECKSUM) != checksumOf(segment, position, crc)) {
+                    log.warn("포인트 내역 로그 손상 레코드 이후는 복구하지 않습니다. [{}] 위치 [{}] id [{}]", file, position, id);
+                    ended = true;
+                }
+                if (ended) {
+                    clearFrom(segment, position);
+                    break;
+                }
+                long offset = index * segmentBytes + position;
+                users.computeIfAbsent(segment.getLong(position + USER_ID), key -> new UserOffsets()).add(offset);
+                nextId = id + 1;
+                writeOffset = offset + RECORD_BYTES;
+            }
+        }
+        forcedOffset = writeOffset;
+        log.info("포인트 내역 로그 복구 세그먼트 [{}] 내역 [{}] 유저 [{}] 소요 [{}]ms",
+                segments.size(), writeOffset / RECORD_BYTES, users.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * position 부터 남은 레코드의 id 를 0 으로 바꿔서 쓰지 않은 공간으로 만든다.
+     */
+    private void clearFrom(MappedByteBuffer segment, int position) {
+        boolean cleared = false;
+        for (int at = position; at < segmentBytes; at += RECORD_BYTES) {
+            if (segment.getLong(at + ID) != 0) {
+                segment.putLong(at + ID, 0L);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            segment.force();
+        }
+    }
+
+    /**
+     * 레코드 앞 36 bytes(id ~ type)의 CRC32C
+     */
+    private static int checksumOf(MappedByteBuffer segment, int position, CRC32C crc) {
+        crc.reset();
+        crc.update(segment.slice(position, CHECKSUM));
+        return (int) crc.getValue();
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("history-%06d.log", index));
+    }
+
+    private int segmentOf(long offset) {
+        return (int) (offset / segmentBytes);
+    }
+
+    private int positionOf(long offset) {
+        return (int) (offset % segmentBytes);
+    }
+
+    private long idAt(long offset) {
+        return segments.get(segmentOf(offset)).getLong(positionOf(offset) + ID);
+    }
+
+    private long updateMillisAt(long offset) {
+        return segments.get(segmentOf(offset)).getLong(positionOf(offset) + UPDATE_MILLIS);
+    }
+
+    /**
+     * 한 유저의 레코드 위치 인덱스
+     * - 추가는 appendLock 안에서만 하므로 id 순서 위치는 항상 끝에 쌓인다.
+     *   배열이 가득 차면 새 배열로 복사하고, 이전 배열의 내용은 바꾸지 않는다.
+     *   그래서 id 순서 조회는 배열과 범위만 락 안에서 가져오고 레코드는 락 밖에서 읽는다.
+     * - 시각 순서 위치도 대부분 끝에 추가하지만, 시각이 앞선 내역이 늦게 들어오면 중간에 끼워 넣는다.
+     *   그래서 기간 조회는 락 안에서 범위를 찾고 limit 개까지 읽는다.
+     */
+    private final class UserOffsets {
+        private long[] byId = new long[4];      // id 오름차순 레코드 위치
+        private long[] byTime = new long[4];    // 시각(updateMillis, 같으면 id) 오름차순 레코드 위치
+        private int size;
+
+        synchronized void add(long offset) {
+            if (size == byId.length) {
+                byId = Arrays.copyOf(byId, size * 2);
+                byTime = Arrays.copyOf(byTime, size * 2);
+            }
+            byId[size] = offset;
+            long id = idAt(offset);
+            long updateMillis = updateMillisAt(offset);
+            int index = (size == 0 || compareByTime(byTime[size - 1], updateMillis, id) < 0)
+                    ? size : upperBoundByTime(updateMillis, id);
+            System.arraycopy(byTime, index, byTime, index + 1, size - index);
+            byTime[index] = offset;
+            size++;
+        }
+
+        /**
+         * cursor(id) 보다 큰 레코드 위치 범위
+         */
+        synchronized Span after(long cursor) {
+            return new Span(byId, lowerBoundById(cursor + 1), size);
+        }
+
+        /**
+         * 기간 [fromMillis, toMillis) 의 내역 중 cursor 내역보다 시각 순서가 뒤이고 조건에 맞는 내역을 최대 limit 개 조회
+         */
+        synchronized List<PointHistory> between(long fromMillis, long toMillis, long cursor, int limit, Predicate<PointHistory> condition) {
+            int start = upperBoundByTime(fromMillis, Long.MIN_VALUE);
+            int end = upperBoundByTime(toMillis, Long.MIN_VALUE);
+            int cursorIndex = lowerBoundById(cursor);
+            if (cursor > 0 && cursorIndex < size && idAt(byId[cursorIndex]) == cursor) {
+                long last = byId[cursorIndex];
+                start = Math.max(start, upperBoundByTime(updateMillisAt(last), cursor));
+            }
+            List<PointHistory> page = new ArrayList<>(Math.min(limit, Math.max(end - start, 0)));
+            for (int i = start; i < end && page.size() < limit; i++) {
+                PointHistory history = read(byTime[i]);
+                if (condition.test(history)) {
+                    page.add(history);
+                }
+            }
+            return page;
+        }
+
+        /**
+         * id 보다 크거나 같은 첫 번째 레코드 위치
+         */
+        private int lowerBoundById(long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (idAt(byId[mid]) < id) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        /**
+         * 시각 순서에서 (updateMillis, id) 보다 뒤에 있는 첫 번째 레코드 위치
+         */
+        private int upperBoundByTime(long updateMillis, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareByTime(byTime[mid], updateMillis, id) <= 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        private int compareByTime(long offset, long updateMillis, long id) {
+            int compare = Long.compare(updateMillisAt(offset), updateMillis);
+            return compare != 0 ? compare : Long.compare(idAt(offset), id);
+        }
+    }
+
+    /**
+     * 레코드 위치 배열의 [from, to) 범위
+     */
+    private record Span(long[] offsets, int from, int to) {
+        private static final Span EMPTY = new Span(new long[0], 0, 0);
+
+        int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 포인트 내역 저장소
+ * - 내역은 포인트 내역 저장 공간에 저장한다.
+ *   (기본 : 포인트 내역 테이블 + 유저 id 인덱스, mapped-history 프로필 : 메모리 매핑 파일 로그)
+ * - 저장 공간 호출 시간은 point.table.calls 타이머로 기록한다.
+ */
+@Repository
+public class PointHistoryRepository {
+
+    private final PointHistoryStore pointHistoryStore;  // 포인트 내역 저장 공간
+    private final Timer insertTimer;                    // 내역 추가 시간
+
+    @Autowired
+    public PointHistoryRepository(PointHistoryStore pointHistoryStore, MeterRegistry meterRegistry) {
+        this.pointHistoryStore = pointHistoryStore;
+        this.insertTimer = TableMetrics.timer(meterRegistry, "point_history", "insert");
+    }
+
+    public PointHistoryRepository(PointHistoryTable pointHistoryTable, MeterRegistry meterRegistry) {
+        this(new TablePointHistoryStore(pointHistoryTable), meterRegistry);
+    }
+
+    /**
+     * 포인트 내역 추가
+     * @param userId
+     * @param amount
+     * @param type
+     * @param updateMillis
+     * @return PointHistory
+     */
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return insertTimer.record(() -> pointHistoryStore.insert(userId, amount, type, updateMillis));
+    }
+
+    /**
+     * 저장 공간이 동시 추가를 처리하는지 여부
+     * @return boolean
+     */
+    public boolean supportsConcurrentInsert() {
+        return pointHistoryStore.supportsConcurrentInsert();
+    }
+
+    /**
+     * 유저의 모든 포인트 내역 조회 (id 오름차순)
+     * @param userId
+     * @return List<PointHistory>
+     */
+    public List<PointHistory> findAllByUserId(long userId) {
+        return pointHistoryStore.findAllByUserId(userId);
+    }
+
+    /**
+     * cursor(id) 이후의 유저 포인트 내역 중 조건에 맞는 내역을 최대 limit 개 조회 (id 오름차순)
+     * @param userId
+     * @param cursor 이전 페이지의 마지막 내역 id
+     * @param limit
+     * @param condition
+     * @return List<PointHistory>
+     */
+    public List<PointHistory> findAllByUserIdAfter(long userId, long cursor, int limit, Predicate<PointHistory> condition) {
+        return pointHistoryStore.findAllByUserIdAfter(userId, cursor, limit, condition);
+    }
+
+    /**
+     * 기간 [fromMillis, toMillis) 의 유저 포인트 내역 중 cursor 이후 조건에 맞는 내역을 최대 limit 개 조회 (시각 오름차순)
+     * @param userId
+     * @param fromMillis 조회 시작 시각 (포함)
+     * @param toMillis 조회 종료 시각 (미포함)
+     * @param cursor 이전 페이지의 마지막 내역 id (첫 페이지는 0)
+     * @param limit
+     * @param condition
+     * @return List<PointHistory>
+     */
+    public List<PointHistory> findAllByUserIdBetween(long userId, long fromMillis, long toMillis, long cursor, int limit, Predicate<PointHistory> condition) {
+        return pointHistoryStore.findAllByUserIdBetween(userId, fromMillis, toMillis, cursor, limit, condition);
+    }
+
+    /**
+     * cursor(id) 이후의 유저 포인트 내역을 최대 limit 개 읽기 (id 오름차순)
+     * @param userId
+     * @param cursor 이전 페이지의 마지막 내역 id
+     * @param limit
+     * @param visitor
+     * @return 읽은 내역 수
+     */
+    public int forEachByUserIdAfter(long userId, long cursor, int limit, PointHistoryStore.Visitor visitor) throws IOException {
+        return pointHistoryStore.forEachByUserIdAfter(userId, cursor, limit, visitor);
+    }
+}
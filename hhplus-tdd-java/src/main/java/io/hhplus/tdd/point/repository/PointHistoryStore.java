@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 포인트 내역 저장 공간
+ * - 내역은 id 오름차순으로 추가되고, 유저별로 id 오름차순 조회한다.
+ */
+public interface PointHistoryStore {
+
+    /**
+     * 포인트 내역 추가
+     * @param userId
+     * @param amount
+     * @param type
+     * @param updateMillis
+     * @return PointHistory
+     */
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 여러 스레드가 동시에 추가해도 서로 기다리지 않고 처리되는지 여부
+     * (false 면 추가가 한 번에 하나씩 처리되므로 내역 저장 스레드를 나눠도 빨라지지 않는다.)
+     * @return boolean
+     */
+    default boolean supportsConcurrentInsert() {
+        return true;
+    }
+
+    /**
+     * 유저의 모든 포인트 내역 조회 (id 오름차순)
+     * @param userId
+     * @return List<PointHistory>
+     */
+    List<PointHistory> findAllByUserId(long userId);
+
+    /**
+     * cursor(id) 이후의 유저 포인트 내역 중 조건에 맞는 내역을 최대 limit 개 조회 (id 오름차순)
+     * @param userId
+     * @param cursor 이전 페이지의 마지막 내역 id
+     * @param limit
+     * @param condition
+     * @return List<PointHistory>
+     */
+    List<PointHistory> findAllByUserIdAfter(long userId, long cursor, int limit, Predicate<PointHistory> condition);
+
+    /**
+     * 기간 [fromMillis, toMillis) 의 유저 포인트 내역 중 cursor 이후 조건에 맞는 내역을 최대 limit 개 조회
+     * (updateMillis 오름차순, 같은 시각은 id 오름차순)
+     * @param userId
+     * @param fromMillis 조회 시작 시각 (포함)
+     * @param toMillis 조회 종료 시각 (미포함)
+     * @param cursor 이전 페이지의 마지막 내역 id (첫 페이지는 0)
+     * @param limit
+     * @param condition
+     * @return List<PointHistory>
+     */
+    List<PointHistory> findAllByUserIdBetween(long userId, long fromMillis, long toMillis, long cursor, int limit, Predicate<PointHistory> condition);
+
+    /**
+     * cursor(id) 이후의 유저 포인트 내역을 최대 limit 개 읽기 (id 오름차순, PointHistory 객체를 만들지 않음)
+     * @param userId
+     * @param cursor 이전 페이지의 마지막 내역 id
+     * @param limit
+     * @param visitor
+     * @return 읽은 내역 수
+     */
+    int forEachByUserIdAfter(long userId, long cursor, int limit, Visitor visitor) throws IOException;
+
+    /**
+     * 내역 필드를 그대로 전달받는 방문자
+     */
+    @FunctionalInterface
+    interface Visitor {
+        void visit(long id, long userId, long amount, TransactionType type, long updateMillis) throws IOException;
+    }
+}
@@ -0,0 +1,111 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHold;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포인트 보류/예약 저장소 (메모리)
+ * - 유저별 예약 합계 = 보류 중인 포인트 + 저장 중인 사용 포인트. 사용 가능 포인트는 잔고 - 예약 합계이다.
+ * - 사용과 보류는 잔고를 저장하기 전에 예약하고, 저장이 끝난 뒤 예약을 해제한다.
+ *   그래서 저장 전의 잔고를 읽은 보류도 저장 중인 사용 포인트를 빼고 검증한다.
+ * - 예약은 그 사이 잔고가 바뀌지 않은 것이 확인된 잔고로만 한다.
+ *   (유저 락 모드 : 유저 락을 잡고 조회한 잔고, 낙관적 모드 : 예약 후 버전이 그대로인지 확인 - OptimisticPointUpdater.reserve)
+ * - 예약/해제는 유저 한 명의 합계만 바꾸므로 O(1) 이고, 유저 락을 잡지 않는다.
+ */
+@Repository
+public class PointHoldRepository {
+    private final ConcurrentHashMap<Long, Long> reserved = new ConcurrentHashMap<>();      // 유저별 예약 합계 (0 이면 제거)
+    private final ConcurrentHashMap<Long, PointHold> holds = new ConcurrentHashMap<>();    // 보류 id 별 보류
+    private final AtomicLong holdIds = new AtomicLong(0);
+
+    /**
+     * 현재 잔고로 예약
+     * @param userId
+     * @param balance 현재 잔고
+     * @param amount
+     * @return 사용 가능 포인트가 부족하면 false
+     */
+    public boolean tryReserve(long userId, long balance, long amount) {
+        boolean[] success = {false};
+        reserved.compute(userId, (key, current) -> {
+            long held = current == null ? 0L : current;
+            if (balance - held < amount) return current;
+            success[0] = true;
+            return held + amount;
+        });
+        return success[0];
+    }
+
+    /**
+     * 예약 해제
+     * @param userId
+     * @param amount
+     */
+    public void release(long userId, long amount) {
+        reserved.computeIfPresent(userId, (key, current) -> current == amount ? null : current - amount);
+    }
+
+    /**
+     * 유저의 예약 합계
+     * @param userId
+     * @return long
+     */
+    public long reservedAmount(long userId) {
+        return reserved.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * 보류 등록 (예약한 뒤에 호출)
+     * @param userId
+     * @param amount
+     * @param expiresAtMillis
+     * @return PointHold
+     */
+    public PointHold save(long userId, long amount, long expiresAtMillis) {
+        PointHold hold = new PointHold(holdIds.incrementAndGet(), userId, amount, expiresAtMillis);
+        holds.put(hold.id(), hold);
+        return hold;
+    }
+
+    /**
+     * 유저의 보류 꺼내기 (예약은 호출한 쪽에서 해제)
+     * @param userId
+     * @param holdId
+     * @return 없거나 다른 유저의 보류면 null
+     */
+    public PointHold remove(long userId, long holdId) {
+        PointHold hold = holds.get(holdId);
+        if (hold == null || hold.userId() != userId || !holds.remove(holdId, hold)) {
+            return null;
+        }
+        return hold;
+    }
+
+    /**
+     * 꺼냈던 보류를 같은 id 로 되돌리기 (예약은 해제하지 않은 상태여야 한다.)
+     * @param hold
+     */
+    public void restore(PointHold hold) {
+        holds.put(hold.id(), hold);
+    }
+
+    /**
+     * 만료된 보류 꺼내기 (예약은 호출한 쪽에서 해제)
+     * @param now
+     * @return List<PointHold>
+     */
+    public List<PointHold> removeExpired(long now) {
+        List<PointHold> expired = new ArrayList<>();
+        for (PointHold hold : holds.values()) {
+            if (hold.isExpired(now) && holds.remove(hold.id(), hold)) {
+                expired.add(hold);
+            }
+        }
+        return expired;
+    }
+}
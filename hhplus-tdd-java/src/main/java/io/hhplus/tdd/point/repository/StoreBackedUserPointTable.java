@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 유저 포인트 저장 공간을 사용하는 유저 포인트 테이블 (memory-store 프로필)
+ * - 유저 포인트 테이블과 같은 API 를 제공하고, 데이터는 UserPointStore 에 저장한다.
+ * - 유저 포인트 테이블을 변경하지 않고 저장소 앞단(캐시, 락, 메트릭)은 그대로 사용하기 위해 하위 클래스로 제공한다.
+ */
+public class StoreBackedUserPointTable extends UserPointTable {
+
+    private final UserPointStore userPointStore;    // 유저 포인트 저장 공간
+
+    public StoreBackedUserPointTable(UserPointStore userPointStore) {
+        this.userPointStore = userPointStore;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        UserPoint userPoint = userPointStore.findById(id);
+        return userPoint == null ? UserPoint.empty(id) : userPoint;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return userPointStore.save(id, amount, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 테이블 호출 시간 측정
+ * - 테이블/메서드 이름만 태그로 사용한다. (유저 id 같은 값은 태그로 사용하지 않는다)
+ */
+final class TableMetrics {
+    static final String TABLE_CALLS = "point.table.calls";
+
+    private TableMetrics() {
+    }
+
+    /**
+     * 테이블 호출 타이머
+     * @param meterRegistry
+     * @param table
+     * @param operation
+     * @return Timer
+     */
+    static Timer timer(MeterRegistry meterRegistry, String table, String operation) {
+        return Timer.builder(TABLE_CALLS)
+                .description("DB 테이블 호출 시간")
+                .tag("table", table)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,76 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 포인트 내역 테이블 저장 공간 (기본)
+ * - 포인트 내역 테이블의 공개된 API 만 사용하고, 유저 id 별 내역 인덱스를 함께 관리한다.
+ * - 유저 내역 조회는 전체 내역이 아니라 해당 유저의 내역 수에 비례한다.
+ * - 이 저장 공간을 거치지 않고 테이블에 직접 추가한 내역은 인덱스에 포함되지 않는다.
+ * - 포인트 내역 테이블의 추가는 스레드 안전하지 않으므로(id 증가, 목록 추가) 한 번에 하나씩만 추가한다.
+ */
+@Component
+@Profile("!mapped-history")
+@RequiredArgsConstructor
+public class TablePointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryTable pointHistoryTable;  // 포인트 내역 테이블
+    private final ConcurrentHashMap<Long, UserHistoryLog> userIndex = new ConcurrentHashMap<>();   // 유저 id 별 내역 인덱스
+    private final ReentrantLock insertLock = new ReentrantLock();   // 테이블 추가 락
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory history;
+        insertLock.lock();
+        try {
+            history = pointHistoryTable.insert(userId, amount, type, updateMillis);
+        } finally {
+            insertLock.unlock();
+        }
+        userIndex.computeIfAbsent(userId, key -> new UserHistoryLog()).add(history);
+        return history;
+    }
+
+    @Override
+    public boolean supportsConcurrentInsert() {
+        return false;
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistoryLog histories = userIndex.get(userId);
+        return histories == null ? List.of() : histories.snapshot();
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserIdAfter(long userId, long cursor, int limit, Predicate<PointHistory> condition) {
+        UserHistoryLog histories = userIndex.get(userId);
+        return histories == null ? List.of() : histories.page(cursor, limit, condition);
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserIdBetween(long userId, long fromMillis, long toMillis, long cursor, int limit, Predicate<PointHistory> condition) {
+        UserHistoryLog histories = userIndex.get(userId);
+        return histories == null ? List.of() : histories.range(fromMillis, toMillis, cursor, limit, condition);
+    }
+
+    @Override
+    public int forEachByUserIdAfter(long userId, long cursor, int limit, Visitor visitor) throws IOException {
+        List<PointHistory> page = findAllByUserIdAfter(userId, cursor, limit, history -> true);
+        for (PointHistory history : page) {
+            visitor.visit(history.id(), history.userId(), history.amount(), history.type(), history.updateMillis());
+        }
+        return page.size();
+    }
+}
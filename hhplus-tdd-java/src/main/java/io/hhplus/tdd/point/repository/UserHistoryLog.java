@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 한 유저의 포인트 내역 목록
+ * - id 오름차순 목록과 시각(updateMillis, 같으면 id) 오름차순 목록을 함께 관리한다.
+ * - 기간 조회는 시각 순서 목록에서 시작/끝 위치를 이진 탐색으로 찾으므로 기간 밖의 내역은 읽지 않는다.
+ */
+class UserHistoryLog {
+    private final List<PointHistory> histories = new ArrayList<>();     // id 오름차순
+    private final List<PointHistory> byTime = new ArrayList<>();        // 시각 오름차순
+
+    /**
+     * 내역 추가
+     * 대부분 id 순서대로 들어오므로 끝에 추가하고, 순서가 어긋난 경우에만 위치를 찾아 넣는다.
+     * @param history
+     */
+    synchronized void add(PointHistory history) {
+        int size = histories.size();
+        if (size == 0 || histories.get(size - 1).id() < history.id()) {
+            histories.add(history);
+        } else {
+            histories.add(lowerBoundById(history.id()), history);
+        }
+        //시각도 대부분 순서대로 들어오므로 끝에 추가한다.
+        if (size == 0 || compareByTime(byTime.get(size - 1), history.updateMillis(), history.id()) < 0) {
+            byTime.add(history);
+        } else {
+            byTime.add(upperBoundByTime(history.updateMillis(), history.id()), history);
+        }
+    }
+
+    /**
+     * 전체 내역 복사본
+     * @return List<PointHistory>
+     */
+    synchronized List<PointHistory> snapshot() {
+        return List.copyOf(histories);
+    }
+
+    /**
+     * cursor(id) 이후의 내역 중 조건에 맞는 내역을 최대 limit 개 조회
+     * @param cursor 이전 페이지의 마지막 내역 id (이 id 보다 큰 내역부터 조회)
+     * @param limit
+     * @param condition
+     * @return List<PointHistory>
+     */
+    synchronized List<PointHistory> page(long cursor, int limit, Predicate<PointHistory> condition) {
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, histories.size()));
+        for (int i = lowerBoundById(cursor + 1); i < histories.size() && page.size() < limit; i++) {
+            PointHistory history = histories.get(i);
+            if (condition.test(history)) {
+                page.add(history);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 기간 [fromMillis, toMillis) 의 내역 중 cursor 이후 조건에 맞는 내역을 최대 limit 개 조회 (시각 오름차순)
+     * @param fromMillis 조회 시작 시각 (포함)
+     * @param toMillis 조회 종료 시각 (미포함)
+     * @param cursor 이전 페이지의 마지막 내역 id (이 내역의 시각/id 보다 뒤의 내역부터 조회)
+     * @param limit
+     * @param condition
+     * @return List<PointHistory>
+     */
+    synchronized List<PointHistory> range(long fromMillis, long toMillis, long cursor, int limit, Predicate<PointHistory> condition) {
+        int start = upperBoundByTime(fromMillis, Long.MIN_VALUE);
+        int end = upperBoundByTime(toMillis, Long.MIN_VALUE);
+        int cursorIndex = lowerBoundById(cursor);
+        if (cursor > 0 && cursorIndex < histories.size() && histories.get(cursorIndex).id() == cursor) {
+            PointHistory last = histories.get(cursorIndex);
+            start = Math.max(start, upperBoundByTime(last.updateMillis(), last.id()));
+        }
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, Math.max(end - start, 0)));
+        for (int i = start; i < end && page.size() < limit; i++) {
+            PointHistory history = byTime.get(i);
+            if (condition.test(history)) {
+                page.add(history);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * id 보다 크거나 같은 첫 번째 내역 위치
+     */
+    private int lowerBoundById(long id) {
+        int low = 0;
+        int high = histories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (histories.get(mid).id() < id) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * 시각 순서 목록에서 (updateMillis, id) 보다 뒤에 있는 첫 번째 내역 위치
+     */
+    private int upperBoundByTime(long updateMillis, long id) {
+        int low = 0;
+        int high = byTime.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareByTime(byTime.get(mid), updateMillis, id) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static int compareByTime(PointHistory history, long updateMillis, long id) {
+        int compare = Long.compare(history.updateMillis(), updateMillis);
+        return compare != 0 ? compare : Long.compare(history.id(), id);
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistorySummary;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+
+/**
+ * 한 유저의 포인트 내역 누적 집계
+ * - 내역이 저장될 때마다 합계를 갱신하고, 최근 내역은 고정 크기 링 버퍼에 덮어쓴다.
+ * - 갱신/조회 모두 내역 수와 상관없이 일정한 시간이 걸린다.
+ */
+class UserHistorySummary {
+    private final long userId;
+    private final long[] recentIds;                 // 최근 내역 id (링 버퍼)
+    private final long[] recentAmounts;             // 최근 내역 포인트 (링 버퍼)
+    private final TransactionType[] recentTypes;    // 최근 내역 구분 (링 버퍼)
+    private final long[] recentMillis;              // 최근 내역 시각 (링 버퍼)
+
+    private long totalCharged;
+    private long totalUsed;
+    private long count;
+    private long firstActivityMillis;
+    private long lastActivityMillis;
+    private int next;                               // 다음에 쓸 링 버퍼 위치
+    private long loadedUpTo;                        // 저장 공간에서 다시 만들 때 읽은 마지막 내역 id
+
+    UserHistorySummary(long userId, int recentSize) {
+        this.userId = userId;
+        this.recentIds = new long[recentSize];
+        this.recentAmounts = new long[recentSize];
+        this.recentTypes = new TransactionType[recentSize];
+        this.recentMillis = new long[recentSize];
+    }
+
+    /**
+     * 저장된 내역 한 건 반영 (다시 만들 때 이미 읽은 내역은 무시)
+     * @param history
+     */
+    synchronized void record(PointHistory history) {
+        if (history.id() <= loadedUpTo) return;
+        add(history.id(), history.amount(), history.type(), history.updateMillis());
+    }
+
+    /**
+     * 저장 공간에서 읽은 내역 한 건 반영 (id 오름차순으로 호출)
+     */
+    synchronized void load(long id, long userId, long amount, TransactionType type, long updateMillis) {
+        add(id, amount, type, updateMillis);
+        loadedUpTo = id;
+    }
+
+    synchronized long getLoadedUpTo() {
+        return loadedUpTo;
+    }
+
+    private void add(long id, long amount, TransactionType type, long updateMillis) {
+        if (type == CHARGE) totalCharged += amount;
+        else totalUsed += amount;
+        if (count == 0) firstActivityMillis = updateMillis;
+        lastActivityMillis = updateMillis;
+        count++;
+
+        if (recentAmounts.length == 0) return;
+        recentIds[next] = id;
+        recentAmounts[next] = amount;
+        recentTypes[next] = type;
+        recentMillis[next] = updateMillis;
+        next = (next + 1) % recentAmounts.length;
+    }
+
+    /**
+     * 현재 집계 복사본
+     * @return PointHistorySummary
+     */
+    synchronized PointHistorySummary snapshot() {
+        int recentCount = (int) Math.min(count, recentAmounts.length);
+        List<PointHistorySummary.Activity> recent = new ArrayList<>(recentCount);
+        for (int i = 1; i <= recentCount; i++) {
+            int index = Math.floorMod(next - i, recentAmounts.length);
+            recent.add(new PointHistorySummary.Activity(recentIds[index], recentAmounts[index], recentTypes[index], recentMillis[index]));
+        }
+        return new PointHistorySummary(userId, totalCharged, totalUsed, count, firstActivityMillis, lastActivityMillis, recent);
+    }
+}
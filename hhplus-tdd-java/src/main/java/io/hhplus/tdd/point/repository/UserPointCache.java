@@ -0,0 +1,235 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 포인트 캐시
+ * - 유저 id로 구간(segment)을 나누고, 구간마다 락과 LRU 목록을 따로 둔다.
+ *   다른 구간의 유저 조회/저장은 서로 기다리지 않는다.
+ * - 구간의 최대 개수(전체 최대 개수 / 구간 수)를 넘으면 그 구간에서 가장 오래 사용하지 않은 유저부터 제거한다. (구간별 LRU)
+ *   최대 개수가 작으면 구간을 줄여서 구간마다 최소 MIN_SEGMENT_SIZE 개는 담을 수 있게 한다.
+ * - 유휴 시간이 지난 유저는 조회 시점에 제거한다.
+ * - 조회로 채우는 값은 조회 도중 같은 유저 그룹에 쓰기가 없었을 때만 저장해서,
+ *   충전/사용으로 갱신된 값을 오래된 조회 결과로 덮어쓰지 않는다.
+ *   유저 그룹은 구간을 더 잘게 나눈 것이므로 쓰기 횟수 확인과 저장은 같은 구간 락 안에서 처리된다.
+ */
+@Component
+public class UserPointCache {
+    private static final int STAMP_STRIPES = 1024;
+    private static final int MAX_SEGMENTS = 64;         // STAMP_STRIPES 의 약수 (2의 거듭제곱)
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final long idleTimeoutMillis;       // 유휴 제거 시간 (0 이하면 사용하지 않음)
+    private final Segment[] segments;
+    private final AtomicLongArray writeStamps = new AtomicLongArray(STAMP_STRIPES);   // 유저 그룹별 쓰기 횟수
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPointCache(@Value("${point.cache.max-size:100000}") int maxSize,
+                          @Value("${point.cache.idle-timeout-millis:600000}") long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && (long) maxSize / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+            segmentCount *= 2;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            //나머지는 앞쪽 구간에 하나씩 더 배정한다.
+            segments[i] = new Segment(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * 캐시 조회
+     * @param userId
+     * @return 캐시에 없으면 null
+     */
+    public UserPoint get(long userId) {
+        Segment segment = segmentOf(userId);
+        long now = System.currentTimeMillis();
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(userId);
+            if (entry == null || isIdle(entry, now)) {
+                if (entry != null) {
+                    segment.entries.remove(userId);
+                    evictions.increment();
+                }
+                misses.increment();
+                return null;
+            }
+            entry.lastAccessMillis = now;
+            hits.increment();
+            return entry.userPoint;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 충전/사용으로 갱신된 값 저장
+     * @param userPoint
+     */
+    public void put(UserPoint userPoint) {
+        Segment segment = segmentOf(userPoint.id());
+        segment.lock.lock();
+        try {
+            segment.entries.put(userPoint.id(), new Entry(userPoint, System.currentTimeMillis()));
+            writeStamps.incrementAndGet(stripeOf(userPoint.id()));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 조회 전에 읽어두는 쓰기 횟수
+     * @param userId
+     * @return long
+     */
+    public long writeStamp(long userId) {
+        return writeStamps.get(stripeOf(userId));
+    }
+
+    /**
+     * 조회한 값 저장 (조회 도중 쓰기가 없었던 경우에만)
+     * @param userPoint
+     * @param writeStamp 조회 전에 읽어둔 쓰기 횟수
+     */
+    public void putIfUnchanged(UserPoint userPoint, long writeStamp) {
+        Segment segment = segmentOf(userPoint.id());
+        segment.lock.lock();
+        try {
+            if (writeStamps.get(stripeOf(userPoint.id())) == writeStamp) {
+                segment.entries.put(userPoint.id(), new Entry(userPoint, System.currentTimeMillis()));
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 캐시 제거
+     * @param userId
+     */
+    public void evict(long userId) {
+        Segment segment = segmentOf(userId);
+        segment.lock.lock();
+        try {
+            segment.entries.remove(userId);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 유휴 시간이 지난 유저 일괄 제거 (구간 하나씩 락을 잡는다.)
+     */
+    @Scheduled(fixedDelayString = "${point.cache.idle-sweep-millis:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                for (Iterator<Entry> iterator = segment.entries.values().iterator(); iterator.hasNext(); ) {
+                    if (isIdle(iterator.next(), now)) {
+                        iterator.remove();
+                        evictions.increment();
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 캐시 통계
+     * @return CacheStats
+     */
+    public CacheStats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private boolean isIdle(Entry entry, long now) {
+        return idleTimeoutMillis > 0 && now - entry.lastAccessMillis > idleTimeoutMillis;
+    }
+
+    private Segment segmentOf(long userId) {
+        return segments[(int) Math.floorMod(userId, (long) segments.length)];
+    }
+
+    private static int stripeOf(long userId) {
+        return (int) Math.floorMod(userId, (long) STAMP_STRIPES);
+    }
+
+    /**
+     * 캐시 구간 (락 + LRU 목록)
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Entry> entries;
+
+        private Segment(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > maxSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static final class Entry {
+        private final UserPoint userPoint;
+        private long lastAccessMillis;
+
+        private Entry(UserPoint userPoint, long lastAccessMillis) {
+            this.userPoint = userPoint;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    /**
+     * 캐시 통계
+     * @param hits 캐시 적중 횟수
+     * @param misses 캐시 미스 횟수
+     * @param evictions 제거 횟수
+     * @param size 현재 캐시 개수
+     */
+    public record CacheStats(
+            long hits,
+            long misses,
+            long evictions,
+            int size
+    ) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 유저 포인트 저장소
+ * - 조회는 캐시를 먼저 확인하고, 없으면 유저 포인트 테이블에서 조회한 뒤 캐시에 저장한다.
+ * - 저장은 유저 포인트 테이블에 쓴 뒤 캐시도 같은 값으로 갱신한다.
+ * - 테이블 호출 시간은 point.table.calls 타이머로 기록한다.
+ */
+@Repository
+public class UserPointRepository {
+
+    private final UserPointTable userPointTable;    // 유저 포인트 DB 테이블
+    private final UserPointCache userPointCache;    // 유저 포인트 캐시
+    private final Timer selectTimer;                // 테이블 조회 시간
+    private final Timer insertOrUpdateTimer;        // 테이블 저장 시간
+
+    public UserPointRepository(UserPointTable userPointTable, UserPointCache userPointCache, MeterRegistry meterRegistry) {
+        this.userPointTable = userPointTable;
+        this.userPointCache = userPointCache;
+        this.selectTimer = TableMetrics.timer(meterRegistry, "user_point", "selectById");
+        this.insertOrUpdateTimer = TableMetrics.timer(meterRegistry, "user_point", "insertOrUpdate");
+    }
+
+    /**
+     * 유저 포인트 조회
+     * @param userId
+     * @return UserPoint
+     */
+    public UserPoint findById(long userId) {
+        UserPoint cached = userPointCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long writeStamp = userPointCache.writeStamp(userId);
+        UserPoint userPoint = selectTimer.record(() -> userPointTable.selectById(userId));
+        userPointCache.putIfUnchanged(userPoint, writeStamp);
+        return userPoint;
+    }
+
+    /**
+     * 조회 전에 읽어두는 유저 그룹 쓰기 횟수
+     * - 값이 바뀌었으면 그 사이에 같은 유저 그룹에 저장이 있었다.
+     * @param userId
+     * @return long
+     */
+    public long writeStamp(long userId) {
+        return userPointCache.writeStamp(userId);
+    }
+
+    /**
+     * 유저 포인트 저장
+     * @param userId
+     * @param amount
+     * @return UserPoint
+     */
+    public UserPoint save(long userId, long amount) {
+        UserPoint userPoint = insertOrUpdateTimer.record(() -> userPointTable.insertOrUpdate(userId, amount));
+        userPointCache.put(userPoint);
+        return userPoint;
+    }
+}
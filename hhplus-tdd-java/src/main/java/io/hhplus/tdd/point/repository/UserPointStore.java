@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 유저 포인트 저장 공간
+ * - 유저 id 별 잔고와 갱신 시각만 저장한다.
+ */
+public interface UserPointStore {
+
+    /**
+     * 유저 포인트 조회
+     * @param userId
+     * @return 저장된 값이 없으면 null
+     */
+    UserPoint findById(long userId);
+
+    /**
+     * 유저 포인트 저장 (없으면 추가, 있으면 갱신)
+     * @param userId
+     * @param point
+     * @param updateMillis
+     * @return UserPoint
+     */
+    UserPoint save(long userId, long point, long updateMillis);
+
+    /**
+     * 저장된 유저 수
+     * @return int
+     */
+    int size();
+}
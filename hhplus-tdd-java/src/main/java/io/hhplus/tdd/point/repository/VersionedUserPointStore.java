@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 버전이 있는 유저 포인트 저장소 (낙관적 동시성 모드)
+ * - 유저별 최신 포인트와 버전을 메모리에 두고, 버전 비교(compare-and-set)로만 갱신한다.
+ * - 처음 조회한 유저는 유저 포인트 저장소에서 읽어서 버전 0 으로 시작한다.
+ * - 갱신에 성공한 값은 유저 포인트 저장소에 저장하고 돌려준다. 저장은 유저별로 한 스레드만 맡고(single-flight),
+ *   항상 그 시점의 최신 버전을 쓴다(latest-wins). 저장 중에 커밋한 쪽은 락을 잡지 않고
+ *   저장이 끝나기를 기다렸다가, 자기 버전이 아직 저장되지 않았으면 이어서 저장한다.
+ * - 유휴 시간이 지났고 최신 버전까지 저장된 유저는 메모리에서 제거한다. 제거할 때 최신 값을 비워서
+ *   제거 전에 조회한 값으로는 갱신할 수 없게 하고, 다음 조회에서 유저 포인트 저장소의 값으로 다시 시작한다.
+ * - 이 모드에서는 모든 충전/사용이 이 저장소를 거쳐야 한다. (묶음 처리와 함께 사용할 수 없다.)
+ */
+@Repository
+public class VersionedUserPointStore {
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000;
+
+    private final UserPointRepository userPointRepository;  // 유저 포인트 저장소 (캐시 포함)
+    private final long idleTimeoutMillis;                   // 유휴 제거 시간 (0 이하면 사용하지 않음)
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VersionedUserPointStore(UserPointRepository userPointRepository,
+                                   @Value("${point.concurrency.optimistic.idle-timeout-millis:600000}") long idleTimeoutMillis) {
+        this.userPointRepository = userPointRepository;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public VersionedUserPointStore(UserPointRepository userPointRepository) {
+        this(userPointRepository, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * 유저의 최신 포인트와 버전 조회
+     * @param userId
+     * @return VersionedPoint
+     */
+    public VersionedPoint find(long userId) {
+        while (true) {
+            Slot slot = slots.get(userId);
+            if (slot == null) {
+                UserPoint loaded = userPointRepository.findById(userId);
+                slot = slots.computeIfAbsent(userId, key -> new Slot(new VersionedPoint(loaded, 0L)));
+            }
+            VersionedPoint current = slot.current.get();
+            if (current != null) {
+                slot.lastAccessMillis = System.currentTimeMillis();
+                return current;
+            }
+            //제거 중인 유저는 맵에서 빠지기를 기다리지 않고 직접 뺀 뒤 다시 읽는다.
+            slots.remove(userId, slot);
+        }
+    }
+
+    /**
+     * 조회한 버전이 그대로일 때만 포인트 갱신
+     * @param expected find 로 조회한 값
+     * @param point 새 포인트
+     * @return 갱신된 값 (그 사이에 다른 갱신이 있었으면 null)
+     */
+    public VersionedPoint compareAndSet(VersionedPoint expected, long point) {
+        long userId = expected.userPoint().id();
+        Slot slot = slots.get(userId);
+        VersionedPoint next = new VersionedPoint(new UserPoint(userId, point, System.currentTimeMillis()), expected.version() + 1);
+        if (slot == null || !slot.current.compareAndSet(expected, next)) {
+            return null;
+        }
+        slot.writeThrough(next.version());
+        return next;
+    }
+
+    /**
+     * 유휴 시간이 지났고 최신 버전까지 저장된 유저 제거
+     */
+    @Scheduled(fixedDelayString = "${point.concurrency.optimistic.idle-sweep-millis:60000}")
+    public void evictIdle() {
+        if (idleTimeoutMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        slots.forEach((userId, slot) -> {
+            if (now - slot.lastAccessMillis > idleTimeoutMillis && slot.retire()) {
+                slots.remove(userId, slot);
+            }
+        });
+    }
+
+    /**
+     * 메모리에 있는 유저 수
+     * @return int
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * 포인트와 버전
+     * @param userPoint
+     * @param version 갱신될 때마다 1씩 증가
+     */
+    public record VersionedPoint(UserPoint userPoint, long version) {
+    }
+
+    /**
+     * 유저별 최신 값과 테이블에 저장된 버전
+     */
+    private final class Slot {
+        private final AtomicReference<VersionedPoint> current;     // 최신 값 (제거된 유저는 null)
+        private final AtomicBoolean writing = new AtomicBoolean();  // 저장을 맡은 스레드가 있는지
+        private volatile long writtenVersion;                       // 테이블에 저장된 버전
+        private volatile CompletableFuture<Void> round = new CompletableFuture<>();  // 진행 중인 저장이 끝나면 완료
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+
+        private Slot(VersionedPoint initial) {
+            this.current = new AtomicReference<>(initial);
+            this.writtenVersion = initial.version();
+        }
+
+        /**
+         * version 이상의 값이 테이블에 저장될 때까지 대기
+         * - 저장을 맡은 스레드가 없으면 이 스레드가 그 시점의 최신 값을 저장한다.
+         * - 다른 스레드가 저장 중이면 그 저장이 끝나기를 기다린 뒤 다시 확인한다.
+         */
+        private void writeThrough(long version) {
+            while (writtenVersion < version) {
+                CompletableFuture<Void> waiting = round;
+                if (!writing.compareAndSet(false, true)) {
+                    waiting.join();
+                    continue;
+                }
+                CompletableFuture<Void> finished = round;
+                try {
+                    VersionedPoint latest = current.get();
+                    if (latest != null && latest.version() > writtenVersion) {
+                        userPointRepository.save(latest.userPoint().id(), latest.userPoint().point());
+                        writtenVersion = latest.version();
+                    }
+                } finally {
+                    //저장을 맡은 스레드만 round 를 바꾸므로, 기다리는 쪽은 항상 완료될 round 를 기다린다.
+                    round = new CompletableFuture<>();
+                    writing.set(false);
+                    finished.complete(null);
+                }
+            }
+        }
+
+        /**
+         * 최신 버전까지 저장됐으면 최신 값을 비워서 더 이상 갱신되지 않게 한다.
+         * @return 비웠으면 true
+         */
+        private boolean retire() {
+            VersionedPoint latest = current.get();
+            return latest != null && !writing.get()
+                    && writtenVersion == latest.version()
+                    && current.compareAndSet(latest, null);
+        }
+    }
+}
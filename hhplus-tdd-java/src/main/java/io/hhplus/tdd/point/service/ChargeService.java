@@ -1,11 +1,9 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.TddCustomException;
-import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.UserPointRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,9 +19,11 @@ import static io.hhplus.tdd.point.TransactionType.CHARGE;
 public class ChargeService {
     private static final Logger log = LoggerFactory.getLogger(ChargeService.class);
 
-    private final UserPointTable userPointTable;        // 유저 포인트 DB 테이블
-    private final PointHistoryTable pointHistoryTable;  // 포인트 내역 테이블
+    private final UserPointRepository userPointRepository;      // 유저 포인트 저장소 (캐시 포함)
+    private final PointHistoryAppender pointHistoryAppender;    // 포인트 내역 비동기 저장
     private final PointService pointService;            // 포인트 조회 서비스
+    private final UserLockManager userLockManager;      // 유저별 락 관리
+    private final OptimisticPointUpdater optimisticPointUpdater;        // 낙관적 포인트 갱신 (락 대신 사용)
 
     /**
      * 포인트 충전
@@ -31,12 +31,38 @@ public class ChargeService {
      * @param chargePoint
      * @return
      */
-    public synchronized UserPointDto chargeUserPoint(long userId, long chargePoint) {
+    public UserPointDto chargeUserPoint(long userId, long chargePoint) {
+        if (optimisticPointUpdater.isEnabled()) {
+            return chargeOptimistic(userId, chargePoint);
+        }
+        return userLockManager.executeWithLock(userId, () -> charge(userId, chargePoint));
+    }
+
+    /**
+     * 포인트 충전 (낙관적 모드, 유저 락 없음)
+     * @param userId
+     * @param chargePoint
+     * @return
+     */
+    private UserPointDto chargeOptimistic(long userId, long chargePoint) {
+        UserPointDto resultUserPoint = optimisticPointUpdater.update(userId, point -> point + chargePoint);
+        //충전 내역 추가
+        addChargeHistory(userId, chargePoint);
+        return resultUserPoint;
+    }
+
+    /**
+     * 포인트 충전 (유저 락을 잡은 상태에서 호출)
+     * @param userId
+     * @param chargePoint
+     * @return
+     */
+    private UserPointDto charge(long userId, long chargePoint) {
         long totalPoint;                     // 누적 포인트
         UserPoint resultUserPoint;           // 충전된 유저 포인트
         try {
             //유저의 포인트 조회
-            UserPointDto originUserPoint = pointService.selectPointByUserId(userId);
+            UserPointDto originUserPoint = pointService.selectPointForUpdate(userId);
             totalPoint = originUserPoint.getPoint() + chargePoint;
             log.info("기존 포인트[{}] / 충전한 포인트[{}] => 누적 포인트[{}]", originUserPoint.getPoint(), chargePoint, totalPoint);
             //누적해서 유저 포인트 업데이트
@@ -59,16 +85,15 @@ public class ChargeService {
      * @return UserPoint
      */
     public UserPoint stackPoint(long userId, long amount) {
-        return userPointTable.insertOrUpdate(userId, amount);
+        return userPointRepository.save(userId, amount);
     }
 
     /**
-     * 포인트 충전 내역 추가
+     * 포인트 충전 내역 추가 (비동기 저장, 요약은 저장 후 갱신)
      * @param userId
      * @param amount
-     * @return PointHistory
      */
-    public PointHistory addChargeHistory(long userId, long amount) {
-        return pointHistoryTable.insert(userId, amount, CHARGE, System.currentTimeMillis());
+    public void addChargeHistory(long userId, long amount) {
+        pointHistoryAppender.append(userId, amount, CHARGE, System.currentTimeMillis());
     }
 }
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.dto.PointHistorySerializer;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 포인트 충전/이용 내역 내보내기 서비스
+ * - 유저의 전체 내역을 한 줄에 하나씩 JSON 으로 쓴다. (NDJSON)
+ *   필드 이름은 내역 조회(/histories)와 같다. (PointHistorySerializer)
+ * - 전체 목록을 만들지 않고 chunk 단위로 조회해서 바로 쓰므로 내역 수와 상관없이 메모리 사용량이 일정하다.
+ * - 응답 스트림에 쓰는 동안 대기하므로 느린 클라이언트에게는 그만큼 천천히 조회한다.
+ */
+@Service
+public class HistoryExportService {
+    private static final Logger log = LoggerFactory.getLogger(HistoryExportService.class);
+
+    private final PointHistoryRepository pointHistoryRepository;    // 포인트 내역 저장소
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;                                    // 한 번에 조회할 내역 수
+
+    public HistoryExportService(PointHistoryRepository pointHistoryRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${point.history.export.chunk-size:500}") int chunkSize) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 유저의 전체 포인트 내역을 NDJSON 으로 쓰기
+     * @param userId
+     * @param outputStream
+     * @return 내보낸 내역 수
+     */
+    public long exportPointHistory(long userId, OutputStream outputStream) throws IOException {
+        long exported = 0;
+        long[] cursor = {0L};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            int written;
+            do {
+                //저장 공간에서 읽은 필드를 PointHistory 객체 없이 바로 쓴다.
+                written = pointHistoryRepository.forEachByUserIdAfter(userId, cursor[0], chunkSize,
+                        (id, historyUserId, amount, type, updateMillis) -> {
+                            generator.writeStartObject();
+                            PointHistorySerializer.writeFields(generator, id, historyUserId, amount, type, updateMillis);
+                            generator.writeEndObject();
+                            generator.writeRaw('\n');
+                            cursor[0] = id;
+                        });
+                //chunk 마다 내보내서 클라이언트가 받은 만큼 다음 chunk 를 조회한다.
+                generator.flush();
+                exported += written;
+            } while (written == chunkSize);
+        }
+        log.info("포인트 내역 내보내기 유저 id [{}] 건수 [{}]", userId, exported);
+        return exported;
+    }
+}
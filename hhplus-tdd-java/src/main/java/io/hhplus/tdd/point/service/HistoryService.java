@@ -1,49 +1,119 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
-import io.hhplus.tdd.point.dto.PointHistoryDto;
-import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
+import io.hhplus.tdd.point.dto.PointHistoryPageDto;
+import io.hhplus.tdd.point.dto.PointHistorySummaryDto;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Predicate;
 
 import static io.hhplus.tdd.point.TransactionType.USE;
 
 /**
  * 포인트 충전/이용 내역 조회 서비스
+ * - 요청마다 조회한 내역 수를 point.history.list.size 로 기록한다.
+ * - 조회한 PointHistory 를 DTO 로 바꾸지 않고 그대로 돌려준다. 응답은 PointHistorySerializer 가 바로 쓴다.
  */
 @Service
-@RequiredArgsConstructor
 public class HistoryService {
-    private static final Logger log = LoggerFactory.getLogger(PointService.class);
+    private static final Logger log = LoggerFactory.getLogger(HistoryService.class);
 
-    private final PointHistoryTable pointHistoryTable;  // 포인트 내역 테이블
+    public static final int MAX_PAGE_SIZE = 1000;       // 최대 페이지 크기
+
+    private final PointHistoryRepository pointHistoryRepository;    // 포인트 내역 저장소
+    private final HistorySummaryRepository historySummaryRepository;    // 유저별 내역 요약
+    private final DistributionSummary allListSize;                  // 전체 내역 조회 건수
+    private final DistributionSummary pageListSize;                 // 페이지 조회 건수
+
+    public HistoryService(PointHistoryRepository pointHistoryRepository,
+                          HistorySummaryRepository historySummaryRepository,
+                          MeterRegistry meterRegistry) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.historySummaryRepository = historySummaryRepository;
+        this.allListSize = listSizeSummary(meterRegistry, "all");
+        this.pageListSize = listSizeSummary(meterRegistry, "page");
+    }
 
     /**
      * 포인트 충전 및 사용 내역 조회
      * @param userId
      * @return
      */
-    public List<PointHistoryDto> selectPointHistory(long userId) {
+    public List<PointHistory> selectPointHistory(long userId) {
         List<PointHistory> dbList = selectPointAllHistoryList(userId);
-        log.info("포인트 내역 : {}", dbList.toString());
-        return dbList.stream().map(PointHistory::toDto).collect(Collectors.toList());
+        log.debug("포인트 내역 유저 id [{}] 건수 [{}]", userId, dbList.size());
+        allListSize.record(dbList.size());
+        return dbList;
     }
 
     /**
-     * 포인트 모든 내역 DB 조회
+     * 포인트 충전 및 사용 내역 페이지 조회
+     * - 요청한 페이지의 내역만 조회한다.
+     * - 기간 조건이 없으면 id 순서, 기간 조건이 있으면 시각 순서(같은 시각은 id 순서)로 조회한다.
+     * - 기간 조건은 유저별 시각 인덱스에서 시작/끝 위치를 찾아 기간 안의 내역만 읽는다.
+     * @param userId
+     * @param cursor 이전 페이지의 마지막 내역 id (첫 페이지는 null)
+     * @param limit 페이지 크기 (1 ~ 1000)
+     * @param type 충전/사용 구분 (null 이면 전체)
+     * @param fromMillis 조회 시작 시각 (포함, null 이면 제한 없음)
+     * @param toMillis 조회 종료 시각 (미포함, null 이면 제한 없음)
+     * @return PointHistoryPageDto
+     */
+    public PointHistoryPageDto selectPointHistoryPage(long userId, Long cursor, int limit, TransactionType type, Long fromMillis, Long toMillis) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long after = cursor == null ? 0L : cursor;
+        Predicate<PointHistory> condition = history -> type == null || history.type() == type;
+
+        //다음 페이지 존재 여부를 확인하기 위해 한 건 더 조회
+        List<PointHistory> dbList = (fromMillis == null && toMillis == null)
+                ? pointHistoryRepository.findAllByUserIdAfter(userId, after, pageSize + 1, condition)
+                : pointHistoryRepository.findAllByUserIdBetween(userId,
+                        fromMillis == null ? Long.MIN_VALUE : fromMillis,
+                        toMillis == null ? Long.MAX_VALUE : toMillis,
+                        after, pageSize + 1, condition);
+        boolean hasNext = dbList.size() > pageSize;
+        List<PointHistory> page = hasNext ? dbList.subList(0, pageSize) : dbList;
+        pageListSize.record(page.size());
+
+        return PointHistoryPageDto.builder()
+                .histories(page)
+                .nextCursor(hasNext ? page.get(pageSize - 1).id() : null)
+                .build();
+    }
+
+    /**
+     * 포인트 충전 및 사용 내역 요약 조회
+     * - 내역을 저장할 때 갱신한 집계를 돌려주므로 내역 수와 상관없이 DB 를 조회하지 않는다. (재시작 후 유저별 첫 조회만 저장된 내역을 읽는다.)
+     * @param userId
+     * @return PointHistorySummaryDto
+     */
+    public PointHistorySummaryDto selectPointHistorySummary(long userId) {
+        return historySummaryRepository.findByUserId(userId).toDto();
+    }
+
+    /**
+     * 포인트 모든 내역 DB 조회 (유저 id 인덱스 사용)
      * @param userId
      * @return List<PointHistory>
      */
     public List<PointHistory> selectPointAllHistoryList(long userId) {
-        List<PointHistory> allHistoryList = pointHistoryTable.selectAllByUserId(userId);
-        return allHistoryList.stream().filter(chargeHistory -> chargeHistory.userId() == userId).toList();
+        return pointHistoryRepository.findAllByUserId(userId);
+    }
+
+    private static DistributionSummary listSizeSummary(MeterRegistry meterRegistry, String query) {
+        return DistributionSummary.builder("point.history.list.size")
+                .description("요청당 조회한 포인트 내역 수")
+                .baseUnit("rows")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
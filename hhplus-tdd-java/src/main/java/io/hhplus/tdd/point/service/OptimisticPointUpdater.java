@@ -0,0 +1,155 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exception.TddCustomException;
+import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore.VersionedPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 낙관적 포인트 갱신 (point.concurrency.mode=optimistic)
+ * - 유저 락 없이 버전이 있는 포인트를 읽고, 새 포인트를 계산한 뒤 버전 비교로 저장한다.
+ * - 그 사이에 다른 갱신이 있었으면 최신 값으로 다시 계산한다. 재시도 사이에는 지수적으로 늘어나는
+ *   임의 시간만큼 대기하고, 최대 재시도 횟수를 넘으면 err-05 로 실패한다.
+ * - 버전 충돌 수는 point.optimistic.conflicts, 재시도 초과 수는 point.optimistic.exhausted 로 기록한다.
+ * - 묶음 처리(group commit)는 버전이 있는 저장소를 거치지 않고 유저 락으로 저장하므로 이 모드와 함께 사용할 수 없다.
+ *   둘 다 켜져 있으면 시작할 때 실패한다.
+ */
+@Component
+public class OptimisticPointUpdater {
+    private static final int DEFAULT_MAX_RETRIES = 10;
+    private static final long DEFAULT_BASE_BACKOFF_MICROS = 50;
+    private static final long DEFAULT_MAX_BACKOFF_MICROS = 5_000;
+
+    private final VersionedUserPointStore versionedUserPointStore;  // 버전이 있는 유저 포인트 저장소
+    private final boolean enabled;              // 낙관적 모드 사용 여부
+    private final int maxRetries;               // 최대 재시도 횟수
+    private final long baseBackoffNanos;        // 첫 재시도 대기 시간
+    private final long maxBackoffNanos;         // 최대 재시도 대기 시간
+    private final Counter conflicts;            // 버전 충돌 수
+    private final Counter exhausted;            // 재시도 초과로 실패한 수
+
+    @Autowired
+    public OptimisticPointUpdater(VersionedUserPointStore versionedUserPointStore,
+                                  @Value("${point.concurrency.mode:lock}") String mode,
+                                  @Value("${point.concurrency.optimistic.max-retries:10}") int maxRetries,
+                                  @Value("${point.concurrency.optimistic.base-backoff-micros:50}") long baseBackoffMicros,
+                                  @Value("${point.concurrency.optimistic.max-backoff-micros:5000}") long maxBackoffMicros,
+                                  @Value("${point.executor.group-commit.enabled:false}") boolean groupCommit,
+                                  MeterRegistry meterRegistry) {
+        this.versionedUserPointStore = versionedUserPointStore;
+        this.enabled = "optimistic".equalsIgnoreCase(mode);
+        if (enabled && groupCommit) {
+            throw new IllegalStateException("낙관적 모드(point.concurrency.mode=optimistic)는 묶음 처리(point.executor.group-commit.enabled)와 함께 사용할 수 없습니다.");
+        }
+        this.maxRetries = maxRetries;
+        this.baseBackoffNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(baseBackoffMicros, 1));
+        this.maxBackoffNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(maxBackoffMicros, baseBackoffMicros));
+        this.conflicts = Counter.builder("point.optimistic.conflicts")
+                .description("낙관적 갱신 버전 충돌 수")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("point.optimistic.exhausted")
+                .description("재시도 초과로 실패한 낙관적 갱신 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 묶음 처리를 사용하지 않는 설정
+     * @param versionedUserPointStore
+     * @param mode lock / optimistic
+     * @param maxRetries
+     * @param baseBackoffMicros
+     * @param maxBackoffMicros
+     * @param meterRegistry
+     */
+    public OptimisticPointUpdater(VersionedUserPointStore versionedUserPointStore, String mode, int maxRetries,
+                                  long baseBackoffMicros, long maxBackoffMicros, MeterRegistry meterRegistry) {
+        this(versionedUserPointStore, mode, maxRetries, baseBackoffMicros, maxBackoffMicros, false, meterRegistry);
+    }
+
+    /**
+     * 기본 재시도 설정
+     * @param versionedUserPointStore
+     * @param enabled 낙관적 모드 사용 여부
+     * @param meterRegistry
+     */
+    public OptimisticPointUpdater(VersionedUserPointStore versionedUserPointStore, boolean enabled, MeterRegistry meterRegistry) {
+        this(versionedUserPointStore, enabled ? "optimistic" : "lock",
+                DEFAULT_MAX_RETRIES, DEFAULT_BASE_BACKOFF_MICROS, DEFAULT_MAX_BACKOFF_MICROS, meterRegistry);
+    }
+
+    /**
+     * 낙관적 모드 사용 여부
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 유저 포인트 갱신
+     * @param userId
+     * @param change 현재 포인트로 새 포인트 계산 (검증 실패 시 TddCustomException, 재시도마다 다시 호출된다.)
+     * @return 갱신된 유저 포인트
+     */
+    public UserPointDto update(long userId, LongUnaryOperator change) {
+        for (int attempt = 0; ; attempt++) {
+            VersionedPoint current = versionedUserPointStore.find(userId);
+            long point = change.applyAsLong(current.userPoint().point());
+            VersionedPoint committed = versionedUserPointStore.compareAndSet(current, point);
+            if (committed != null) {
+                return committed.userPoint().toDto();
+            }
+            conflicts.increment();
+            if (attempt >= maxRetries) {
+                exhausted.increment();
+                throw new TddCustomException("err-05", "같은 유저의 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+            }
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * 현재 포인트로 예약 (포인트는 바꾸지 않는다.)
+     * - 읽은 포인트로 예약한 뒤 버전이 그대로면 확정한다. 그 사이 갱신이 있었으면 예약을 취소하고 최신 값으로 다시 예약한다.
+     * - 버전이 그대로인데 예약하지 못했으면 사용 가능 포인트가 부족한 것이다. (err-03)
+     * @param userId
+     * @param tryReserve 현재 포인트로 예약 (부족하면 false)
+     * @param cancel 예약 취소
+     */
+    public void reserve(long userId, LongPredicate tryReserve, Runnable cancel) {
+        for (int attempt = 0; ; attempt++) {
+            VersionedPoint current = versionedUserPointStore.find(userId);
+            boolean reserved = tryReserve.test(current.userPoint().point());
+            if (versionedUserPointStore.find(userId) == current) {
+                if (!reserved) throw new TddCustomException("err-03", "포인트가 부족합니다.");
+                return;
+            }
+            if (reserved) cancel.run();
+            conflicts.increment();
+            if (attempt >= maxRetries) {
+                exhausted.increment();
+                throw new TddCustomException("err-05", "같은 유저의 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+            }
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * 재시도 전 대기 (base * 2^attempt 까지의 임의 시간, 최대 maxBackoff)
+     */
+    private void backoff(int attempt) {
+        long limit = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(attempt, 20));
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(limit / 2, limit + 1));
+    }
+}
@@ -0,0 +1,148 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exception.ErrorMetrics;
+import io.hhplus.tdd.exception.TddCustomException;
+import io.hhplus.tdd.exception.TddRejectedException;
+import io.hhplus.tdd.point.dto.PointCommandDto;
+import io.hhplus.tdd.point.dto.PointCommandResultDto;
+import io.hhplus.tdd.point.dto.UserPointDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 포인트 충전/사용 일괄 처리 서비스
+ * - 요청을 유저별로 묶어서 유저마다 요청 순서대로 처리한다.
+ * - 서로 다른 유저는 명령 실행기의 워커 풀에서 병렬로 처리한다.
+ * - 실패한 요청이 있어도 나머지 요청은 계속 처리하고, 요청마다 결과를 돌려준다.
+ *   명령 실행기가 유저 명령을 받지 않으면(err-07, err-08) 그 유저의 요청만 거절 결과로 돌려준다.
+ */
+@Service
+public class PointBatchService {
+    private static final Logger log = LoggerFactory.getLogger(PointBatchService.class);
+
+    private final ChargeService chargeService;                  // 유저 포인트 충전 서비스
+    private final UseService useService;                        // 유저 포인트 사용 서비스
+    private final PointCommandExecutor pointCommandExecutor;    // 유저별 포인트 충전/사용 명령 실행기
+    private final int maxBatchSize;                             // 한 번에 요청할 수 있는 최대 명령 수
+    private final MeterRegistry meterRegistry;
+
+    public PointBatchService(ChargeService chargeService,
+                             UseService useService,
+                             PointCommandExecutor pointCommandExecutor,
+                             @Value("${point.batch.max-size:10000}") int maxBatchSize,
+                             MeterRegistry meterRegistry) {
+        this.chargeService = chargeService;
+        this.useService = useService;
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.maxBatchSize = maxBatchSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 포인트 충전/사용 일괄 처리
+     * @param commands
+     * @return 요청 순서대로 정렬된 처리 결과
+     */
+    public CompletableFuture<List<PointCommandResultDto>> executeBatch(List<PointCommandDto> commands) {
+        checkBatchSize(commands);
+
+        //유저별로 요청 순서를 유지해서 묶기
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            indexesByUser.computeIfAbsent(commands.get(i).getUserId(), key -> new ArrayList<>()).add(i);
+        }
+        log.info("포인트 일괄 처리 명령 수 [{}] 유저 수 [{}]", commands.size(), indexesByUser.size());
+
+        PointCommandResultDto[] results = new PointCommandResultDto[commands.size()];
+        List<CompletableFuture<Void>> userFutures = new ArrayList<>(indexesByUser.size());
+        indexesByUser.forEach((userId, indexes) ->
+                userFutures.add(pointCommandExecutor.<Void>submit(userId, () -> {
+                    for (int index : indexes) {
+                        results[index] = execute(index, commands.get(index));
+                    }
+                    return null;
+                }).exceptionally(e -> {
+                    for (int index : indexes) {
+                        results[index] = reject(index, commands.get(index), e);
+                    }
+                    return null;
+                })));
+
+        return CompletableFuture.allOf(userFutures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> Arrays.asList(results));
+    }
+
+    /**
+     * 한 번에 요청할 수 있는 명령 수 확인
+     * @param commands
+     */
+    public void checkBatchSize(List<PointCommandDto> commands) {
+        if (commands.size() > maxBatchSize) {
+            throw new TddCustomException("err-04", "한 번에 요청할 수 있는 명령 수(" + maxBatchSize + ")를 초과했습니다.");
+        }
+    }
+
+    /**
+     * 명령 하나 처리
+     * @param index
+     * @param command
+     * @return PointCommandResultDto
+     */
+    private PointCommandResultDto execute(int index, PointCommandDto command) {
+        PointCommandResultDto.PointCommandResultDtoBuilder result = PointCommandResultDto.builder()
+                .index(index)
+                .userId(command.getUserId())
+                .type(command.getType())
+                .amount(command.getAmount());
+        try {
+            if (command.getType() == null) {
+                throw new TddCustomException("err-04", "충전/사용 구분이 없습니다.");
+            }
+            UserPointDto userPoint = switch (command.getType()) {
+                case CHARGE -> chargeService.chargeUserPoint(command.getUserId(), command.getAmount());
+                case USE -> useService.useUserPoint(command.getUserId(), command.getAmount());
+            };
+            return result.success(true).point(userPoint.getPoint()).build();
+        } catch (TddCustomException e) {
+            ErrorMetrics.count(meterRegistry, e.getCode());
+            if (e instanceof TddRejectedException) ErrorMetrics.countRejected(meterRegistry, e.getCode());
+            return result.success(false).code(e.getCode()).message(e.getMessage()).build();
+        } catch (RuntimeException e) {
+            log.error("포인트 일괄 처리 실패 {}", command, e);
+            return result.success(false).code("500").message("에러가 발생했습니다.").build();
+        }
+    }
+
+    /**
+     * 명령 실행기가 받지 않은 명령의 결과
+     * @param index
+     * @param command
+     * @param e
+     * @return PointCommandResultDto
+     */
+    private PointCommandResultDto reject(int index, PointCommandDto command, Throwable e) {
+        PointCommandResultDto.PointCommandResultDtoBuilder result = PointCommandResultDto.builder()
+                .index(index)
+                .userId(command.getUserId())
+                .type(command.getType())
+                .amount(command.getAmount())
+                .success(false);
+        if (e instanceof TddRejectedException rejected) {
+            ErrorMetrics.count(meterRegistry, rejected.getCode());
+            ErrorMetrics.countRejected(meterRegistry, rejected.getCode());
+            return result.code(rejected.getCode()).message(rejected.getMessage()).build();
+        }
+        log.error("포인트 일괄 처리 실패 {}", command, e);
+        return result.code("500").message("에러가 발생했습니다.").build();
+    }
+}
@@ -0,0 +1,283 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.exception.TddRejectedException;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.dto.UserPointDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+
+/**
+ * 유저별 포인트 충전/사용 명령 실행기
+ * - 충전/사용 명령은 유저별 메일박스(큐)에 순서대로 쌓인다.
+ * - 하나의 메일박스는 한 번에 하나의 워커만 처리하므로 같은 유저의 명령은 순차적으로 처리된다.
+ * - 서로 다른 유저의 메일박스는 고정 크기 스레드 풀에서 병렬로 처리된다.
+ * - 묶음 처리(group commit) 모드에서는 메일박스에 쌓인 충전/사용 명령을 한 번에 꺼내서
+ *   잔고 저장 한 번, 내역 일괄 등록으로 처리한다. (PointGroupCommitService)
+ * - 등록 후 아직 끝나지 않은 명령 수가 전체 제한(max-in-flight)을 넘으면 503(err-07),
+ *   한 유저의 제한(max-queued-per-user)을 넘으면 429(err-08)로 등록하지 않고 바로 실패한다.
+ */
+@Component
+public class PointCommandExecutor {
+    private static final Logger log = LoggerFactory.getLogger(PointCommandExecutor.class);
+
+    private static final int DRAIN_BATCH_SIZE = 32;     // 다른 유저에게 워커를 양보하기 전까지 처리할 명령 수
+
+    private final ChargeService chargeService;          // 유저 포인트 충전 서비스
+    private final UseService useService;                // 유저 포인트 사용 서비스
+    private final PointGroupCommitService pointGroupCommitService;  // 충전/사용 묶음 처리 서비스
+    private final boolean groupCommit;                  // 묶음 처리 사용 여부
+    private final long groupWindowNanos;                // 묶음을 꺼내기 전에 명령을 더 모으는 시간
+    private final int maxInFlight;                      // 전체 처리 중인 명령 수 제한
+    private final int maxQueuedPerUser;                 // 유저별 처리 중인 명령 수 제한
+    private final AtomicInteger inFlight = new AtomicInteger();     // 등록 후 끝나지 않은 명령 수
+    private final ExecutorService workers;              // 메일박스 처리 워커 풀
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PointCommandExecutor(ChargeService chargeService,
+                                UseService useService,
+                                PointGroupCommitService pointGroupCommitService,
+                                PointThreadFactories pointThreadFactories,
+                                @Value("${point.executor.pool-size:64}") int poolSize,
+                                @Value("${point.executor.group-commit.enabled:false}") boolean groupCommit,
+                                @Value("${point.executor.group-commit.window-micros:0}") long groupWindowMicros,
+                                @Value("${point.executor.max-in-flight:10000}") int maxInFlight,
+                                @Value("${point.executor.max-queued-per-user:100}") int maxQueuedPerUser) {
+        this.chargeService = chargeService;
+        this.useService = useService;
+        this.pointGroupCommitService = pointGroupCommitService;
+        this.groupCommit = groupCommit;
+        this.groupWindowNanos = TimeUnit.MICROSECONDS.toNanos(groupWindowMicros);
+        this.maxInFlight = maxInFlight;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.workers = Executors.newFixedThreadPool(poolSize, pointThreadFactories.create("point-command-"));
+    }
+
+    /**
+     * 명령을 한 건씩 처리하는 실행기 (등록 수 제한 없음)
+     * @param chargeService
+     * @param useService
+     * @param pointThreadFactories
+     * @param poolSize
+     */
+    public PointCommandExecutor(ChargeService chargeService,
+                                UseService useService,
+                                PointThreadFactories pointThreadFactories,
+                                int poolSize) {
+        this(chargeService, useService, null, pointThreadFactories, poolSize, false, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 포인트 충전 명령 등록
+     * @param userId
+     * @param amount
+     * @return 충전 결과
+     */
+    public CompletableFuture<UserPointDto> charge(long userId, long amount) {
+        return submitPoint(userId, CHARGE, amount);
+    }
+
+    /**
+     * 포인트 사용 명령 등록
+     * @param userId
+     * @param amount
+     * @return 사용 결과
+     */
+    public CompletableFuture<UserPointDto> use(long userId, long amount) {
+        return submitPoint(userId, USE, amount);
+    }
+
+    /**
+     * 유저 메일박스에 명령 등록
+     * @param userId
+     * @param command
+     * @return 명령 실행 결과 (등록 수 제한을 넘으면 TddRejectedException 으로 실패)
+     */
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(userId, () -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, result);
+        return result;
+    }
+
+    /**
+     * 유저 메일박스에 충전/사용 명령 등록 (묶음 처리 대상)
+     * @param userId
+     * @param type
+     * @param amount
+     * @return 명령 실행 결과
+     */
+    private CompletableFuture<UserPointDto> submitPoint(long userId, TransactionType type, long amount) {
+        PointTask task = new PointTask(userId, new PointGroupCommitService.Command(type, amount, System.currentTimeMillis(), new CompletableFuture<>()));
+        enqueue(userId, task, task.command.result());
+        return task.command.result();
+    }
+
+    /**
+     * @param result 등록하지 못하면 바로 실패시킬 결과
+     */
+    private void enqueue(long userId, Runnable task, CompletableFuture<?> result) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            result.completeExceptionally(new TddRejectedException(503, "err-07", "처리 중인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+            return;
+        }
+        // 메일박스 생성/삭제와 명령 등록이 같은 key 에서 원자적으로 일어나야 한 유저에 두 개의 메일박스가 생기지 않는다.
+        boolean[] accepted = {false};
+        Mailbox mailbox = mailboxes.compute(userId, (key, current) -> {
+            Mailbox target = (current == null) ? new Mailbox(key) : current;
+            //처리 중인 명령 수는 워커가 줄이기만 하므로 여기서 확인 후 늘려도 제한을 넘지 않는다.
+            if (target.pending.get() >= maxQueuedPerUser) {
+                return current;
+            }
+            target.pending.incrementAndGet();
+            target.queue.offer(task);
+            accepted[0] = true;
+            return target;
+        });
+        if (!accepted[0]) {
+            inFlight.decrementAndGet();
+            result.completeExceptionally(new TddRejectedException(429, "err-08", "같은 유저의 대기 중인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+            return;
+        }
+        mailbox.schedule();
+    }
+
+    /**
+     * 처리 대기 중인 명령이 있는 유저 수
+     * @return int
+     */
+    public int activeMailboxCount() {
+        return mailboxes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("처리되지 않은 포인트 명령이 남아있습니다. 유저 수 [{}]", mailboxes.size());
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 충전/사용 명령 (한 건씩 처리할 때는 충전/사용 서비스를 호출한다.)
+     */
+    private final class PointTask implements Runnable {
+        private final long userId;
+        private final PointGroupCommitService.Command command;
+
+        private PointTask(long userId, PointGroupCommitService.Command command) {
+            this.userId = userId;
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            try {
+                command.result().complete(command.type() == CHARGE
+                        ? chargeService.chargeUserPoint(userId, command.amount())
+                        : useService.useUserPoint(userId, command.amount()));
+            } catch (Throwable e) {
+                command.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 유저별 메일박스
+     */
+    private final class Mailbox implements Runnable {
+        private final long userId;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();      // 등록 후 끝나지 않은 명령 수 (처리 중인 명령 포함)
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Mailbox(long userId) {
+            this.userId = userId;
+        }
+
+        /**
+         * 처리 중인 워커가 없을 때만 워커 풀에 등록
+         */
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (groupCommit && groupWindowNanos > 0) {
+                LockSupport.parkNanos(groupWindowNanos);
+            }
+            int processed = 0;
+            Runnable task;
+            while (processed < DRAIN_BATCH_SIZE && (task = queue.poll()) != null) {
+                int completed = 1;
+                try {
+                    if (groupCommit && task instanceof PointTask first) {
+                        completed = commitGroup(first, DRAIN_BATCH_SIZE - processed);
+                    } else {
+                        task.run();
+                    }
+                } finally {
+                    pending.addAndGet(-completed);
+                    inFlight.addAndGet(-completed);
+                }
+                processed += completed;
+            }
+            scheduled.set(false);
+
+            if (!queue.isEmpty()) {
+                schedule();
+            } else {
+                // 비어있는 메일박스는 제거해서 유저 수만큼 메모리가 늘어나지 않도록 한다.
+                mailboxes.computeIfPresent(userId, (key, current) ->
+                        (current == this && queue.isEmpty() && !scheduled.get()) ? null : current);
+            }
+        }
+
+        /**
+         * 첫 명령에 이어서 쌓여있는 충전/사용 명령을 최대 limit 개까지 묶어서 처리
+         * - 다른 종류의 작업(일괄 처리 등)을 만나면 거기서 묶음을 끊는다.
+         * @return 처리한 명령 수
+         */
+        private int commitGroup(PointTask first, int limit) {
+            List<PointGroupCommitService.Command> group = new ArrayList<>();
+            group.add(first.command);
+            while (group.size() < limit && queue.peek() instanceof PointTask) {
+                group.add(((PointTask) queue.poll()).command);
+            }
+            pointGroupCommitService.commit(userId, group);
+            return group.size();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exception.TddCustomException;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+
+/**
+ * 포인트 충전/사용 묶음 처리 서비스 (group commit)
+ * - 한 유저에게 쌓인 충전/사용 명령을 유저 락 한 번으로 처리한다.
+ * - 명령은 등록 순서대로 검증하므로 잔고가 부족해지는 사용은 단건 처리와 같이 err-03 으로 실패한다.
+ *   보류 중인 포인트는 사용할 수 없고, 성공한 사용 포인트는 저장이 끝날 때까지 예약해둔다.
+ * - 성공한 명령의 최종 잔고를 한 번만 저장하고, 성공한 명령의 내역을 명령 순서대로 등록한다.
+ *   내역 시각은 명령마다 등록(요청) 시각이고, 같은 묶음 안에서는 앞 명령보다 1ms 이상 늦도록 올려서 순서대로 증가한다.
+ *   따라서 묶음이 기간 조회 경계([from, to))에 걸쳐 있어도 명령별로 나뉘어 조회된다.
+ * - 명령마다 처리 후 잔고 또는 실패를 따로 돌려준다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PointGroupCommitService {
+    private static final Logger log = LoggerFactory.getLogger(PointGroupCommitService.class);
+
+    private final UserPointRepository userPointRepository;      // 유저 포인트 저장소 (캐시 포함)
+    private final PointHistoryAppender pointHistoryAppender;    // 포인트 내역 비동기 저장
+    private final PointService pointService;            // 포인트 조회 서비스
+    private final UserLockManager userLockManager;      // 유저별 락 관리
+    private final PointHoldRepository pointHoldRepository;              // 포인트 보류/예약
+
+    /**
+     * 한 유저의 충전/사용 명령 묶음 처리
+     * - 저장이 끝난 뒤 유저 락을 놓고 나서 명령별 결과를 완료한다.
+     * @param userId
+     * @param commands 등록 순서대로 정렬된 명령
+     */
+    public void commit(long userId, List<Command> commands) {
+        Object[] outcomes;
+        try {
+            outcomes = userLockManager.executeWithLock(userId, () -> apply(userId, commands));
+        } catch (RuntimeException e) {
+            //조회/저장 실패는 묶음 전체의 실패
+            for (Command command : commands) {
+                command.result().completeExceptionally(e);
+            }
+            return;
+        }
+        for (int i = 0; i < commands.size(); i++) {
+            if (outcomes[i] instanceof UserPointDto userPoint) {
+                commands.get(i).result().complete(userPoint);
+            } else {
+                commands.get(i).result().completeExceptionally((Throwable) outcomes[i]);
+            }
+        }
+    }
+
+    /**
+     * 명령 묶음 적용 (유저 락을 잡은 상태에서 호출)
+     * @param userId
+     * @param commands
+     * @return 명령별 처리 후 잔고(UserPointDto) 또는 실패(TddCustomException)
+     */
+    private Object[] apply(long userId, List<Command> commands) {
+        Object[] outcomes = new Object[commands.size()];
+        long[] balances = new long[commands.size()];
+        List<Command> accepted = new ArrayList<>(commands.size());
+
+        //유저의 포인트 조회 후 등록 순서대로 검증
+        long balance = pointService.selectPointForUpdate(userId).getPoint();
+        long credit = balance;      // 조회한 잔고 + 앞선 충전 (앞선 사용은 예약 합계에 들어 있다.)
+        long reservedPoint = 0;     // 이번 묶음에서 예약한 사용 포인트
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                Command command = commands.get(i);
+                if (command.type() == CHARGE) {
+                    credit += command.amount();
+                    balance += command.amount();
+                } else if (pointHoldRepository.tryReserve(userId, credit, command.amount())) {
+                    reservedPoint += command.amount();
+                    balance -= command.amount();
+                } else {
+                    outcomes[i] = new TddCustomException("err-03", "포인트가 부족합니다.");
+                    continue;
+                }
+                balances[i] = balance;
+                accepted.add(command);
+            }
+            log.info("유저 id [{}] 묶음 처리 명령 [{}]건 성공 [{}]건 => 누적 포인트[{}]", userId, commands.size(), accepted.size(), balance);
+            if (accepted.isEmpty()) {
+                return outcomes;
+            }
+
+            //최종 잔고 한 번 저장 후 내역 일괄 등록
+            UserPoint saved = userPointRepository.save(userId, balance);
+            long historyMillis = Long.MIN_VALUE;
+            for (Command command : accepted) {
+                historyMillis = Math.max(command.requestedMillis(), historyMillis + 1);
+                pointHistoryAppender.append(userId, command.amount(), command.type(), historyMillis);
+            }
+
+            for (int i = 0; i < commands.size(); i++) {
+                if (outcomes[i] == null) {
+                    outcomes[i] = UserPointDto.builder()
+                            .id(userId)
+                            .point(balances[i])
+                            .updateMillis(saved.updateMillis())
+                            .build();
+                }
+            }
+            return outcomes;
+        } finally {
+            if (reservedPoint > 0) pointHoldRepository.release(userId, reservedPoint);
+        }
+    }
+
+    /**
+     * 묶음 처리할 충전/사용 명령
+     * @param type 충전/사용 구분
+     * @param amount
+     * @param requestedMillis 등록 시각 (내역 시각)
+     * @param result 처리 결과
+     */
+    public record Command(TransactionType type, long amount, long requestedMillis, CompletableFuture<UserPointDto> result) {
+    }
+}
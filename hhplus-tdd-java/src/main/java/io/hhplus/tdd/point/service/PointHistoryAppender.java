@@ -0,0 +1,354 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 포인트 내역 비동기 저장 (write-behind)
+ * - 충전/사용 서비스는 포인트 갱신 후 내역을 큐에 넣기만 하고, 실제 저장은 백그라운드 스레드가 처리한다.
+ * - 유저 id로 레인(큐 + 저장 스레드)을 나누므로 같은 유저의 내역은 등록 순서대로 저장된다.
+ *   저장 공간이 한 번에 하나씩만 추가할 수 있으면(포인트 내역 테이블) 레인을 하나만 둔다.
+ * - 레인 큐가 가득 차면 등록하는 쪽이 대기한다. (backpressure)
+ *   레인이 하나면 처리량은 저장 공간의 추가 속도(포인트 내역 테이블은 건당 최대 300ms)를 넘지 못한다.
+ *   순간적인 몰림은 큐가 흡수하지만, 그보다 빠른 등록이 계속되면 큐가 차고 충전/사용 요청 스레드가 저장 속도에 맞춰 대기한다.
+ *   즉 이 경우 테이블 지연은 요청 경로에서 빠지는 것이 아니라 큐 뒤로 미뤄질 뿐이다. (mapped-history 프로필은 레인을 나눈다.)
+ * - 저장에 실패하면 간격을 늘려가며 다시 시도하고(max-attempts), 끝내 실패한 내역은 실패 목록(dead letter)에 남겨서
+ *   point.history.appender.failed 로 기록한다. 실패 목록은 retryFailed 로 다시 저장한다.
+ *   저장 건수(written)는 저장에 성공한 내역만 센다.
+ * - 저장에 성공한 내역은 id 와 함께 내역 요약(HistorySummaryRepository)에 반영한다.
+ * - 종료 시 큐에 남은 내역을 모두 저장한다. 종료와 겹쳐 등록된 내역은 등록한 쪽이 레인 종료를 기다린 뒤 직접 저장한다.
+ */
+@Component
+public class PointHistoryAppender {
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryAppender.class);
+
+    private final PointHistoryRepository pointHistoryRepository;    // 포인트 내역 저장소
+    private final HistorySummaryRepository historySummaryRepository;    // 유저별 내역 요약
+    private final Lane[] lanes;                         // 유저별 저장 레인
+    private final int maxAttempts;                      // 내역 하나의 최대 저장 시도 횟수
+    private final long retryBackoffMillis;              // 첫 재시도 대기 시간 (시도마다 2배)
+    private final ConcurrentLinkedQueue<PendingHistory> deadLetters = new ConcurrentLinkedQueue<>();    // 끝내 저장하지 못한 내역
+    private final AtomicLong failedCount = new AtomicLong();                                        // 실패 목록에 들어간 누적 건수
+    private volatile boolean running = true;
+
+    @Autowired
+    public PointHistoryAppender(PointHistoryRepository pointHistoryRepository,
+                                HistorySummaryRepository historySummaryRepository,
+                                PointThreadFactories pointThreadFactories,
+                                @Value("${point.history.appender.capacity:10000}") int capacity,
+                                @Value("${point.history.appender.writers:8}") int writers,
+                                @Value("${point.history.appender.max-attempts:3}") int maxAttempts,
+                                @Value("${point.history.appender.retry-backoff-millis:50}") long retryBackoffMillis) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.historySummaryRepository = historySummaryRepository;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        int laneCount = pointHistoryRepository.supportsConcurrentInsert() ? writers : 1;
+        this.lanes = new Lane[laneCount];
+        ThreadFactory threadFactory = pointThreadFactories.create("point-history-appender-");
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(capacity, threadFactory);
+        }
+        if (laneCount < writers) {
+            log.warn("포인트 내역 저장 공간이 동시 추가를 지원하지 않아 저장 레인을 [{}]개로 줄입니다. (설정 [{}]개) "
+                    + "지속적인 부하에서는 등록하는 쪽이 저장 속도에 맞춰 대기합니다.", laneCount, writers);
+        } else {
+            log.info("포인트 내역 저장 레인 [{}]개", laneCount);
+        }
+    }
+
+    public PointHistoryAppender(PointHistoryRepository pointHistoryRepository, HistorySummaryRepository historySummaryRepository,
+                                PointThreadFactories pointThreadFactories, int capacity, int writers) {
+        this(pointHistoryRepository, historySummaryRepository, pointThreadFactories, capacity, writers, 3, 50);
+    }
+
+    /**
+     * 포인트 내역 저장 요청 (큐가 가득 찬 경우 대기)
+     * @param userId
+     * @param amount
+     * @param type
+     * @param updateMillis
+     */
+    public void append(long userId, long amount, TransactionType type, long updateMillis) {
+        PendingHistory history = new PendingHistory(userId, amount, type, updateMillis, System.nanoTime());
+        if (!running) {
+            //종료 중에는 바로 저장해서 내역이 유실되지 않도록 한다.
+            writeOrFail(history);
+            return;
+        }
+        Lane lane = laneOf(userId);
+        try {
+            lane.enqueue(history);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeOrFail(history);
+            return;
+        }
+        if (!running) {
+            //등록 직전에 종료가 시작됐으면 레인 스레드가 이미 끝났을 수 있으므로 남은 내역을 직접 저장한다.
+            lane.awaitAndDrain();
+        }
+    }
+
+    /**
+     * 저장 대기 중인 내역 수
+     * @return long
+     */
+    public long getQueueDepth() {
+        long depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.enqueued.get() - lane.written.get() - lane.failed.get();
+        }
+        return depth;
+    }
+
+    /**
+     * 저장 대기 중인 내역 중 가장 오래 기다린 시간 (ms)
+     * @return long
+     */
+    public long getLagMillis() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (Lane lane : lanes) {
+            PendingHistory head = lane.queue.peek();
+            if (head != null) {
+                lag = Math.max(lag, now - head.enqueuedNanos());
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(lag);
+    }
+
+    /**
+     * 실패 목록에 들어간 누적 내역 수 (point.history.appender.failed)
+     * @return long
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * 실패 목록에 남아 있는 내역 수
+     * @return int
+     */
+    public int getFailedSize() {
+        return deadLetters.size();
+    }
+
+    /**
+     * 실패 목록의 내역을 다시 저장 (다시 실패한 내역은 실패 목록에 남는다.)
+     * 다시 저장한 내역은 그 사이 저장된 내역보다 뒤의 id 를 받는다.
+     * @return 저장한 내역 수
+     */
+    public int retryFailed() {
+        List<PendingHistory> retrying = new ArrayList<>();
+        PendingHistory history;
+        while ((history = deadLetters.poll()) != null) {
+            retrying.add(history);
+        }
+        int saved = 0;
+        for (PendingHistory pending : retrying) {
+            try {
+                write(pending);
+                saved++;
+            } catch (RuntimeException e) {
+                log.error("포인트 내역 재저장 실패 {}", pending, e);
+                deadLetters.add(pending);
+            }
+        }
+        if (saved > 0) {
+            log.info("실패한 포인트 내역 재저장 [{}]건 / 남은 실패 [{}]건", saved, deadLetters.size());
+        }
+        return saved;
+    }
+
+    /**
+     * 호출 시점까지 등록된 내역이 모두 처리(저장 또는 실패 목록으로 이동)될 때까지 대기
+     * @param timeout
+     * @param unit
+     * @return 모두 저장되었으면 true (시간 초과이거나 그 사이 실패한 내역이 있으면 false)
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long failedBefore = failedCount.get();
+        long[] targets = new long[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            targets[i] = lanes[i].enqueued.get();
+        }
+        for (int i = 0; i < lanes.length; i++) {
+            while (lanes[i].written.get() + lanes[i].failed.get() < targets[i]) {
+                if (System.nanoTime() > deadline) return false;
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        return failedCount.get() == failedBefore;
+    }
+
+    /**
+     * 새로운 내역 등록을 막고 큐에 남은 내역을 모두 저장한 뒤 종료
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.awaitAndDrain();
+        }
+        long remaining = getQueueDepth();
+        if (remaining > 0) {
+            log.warn("저장하지 못한 포인트 내역이 남아있습니다. [{}]건", remaining);
+        }
+        if (!deadLetters.isEmpty()) {
+            log.error("저장에 실패한 포인트 내역 [{}]건 {}", deadLetters.size(), deadLetters);
+        }
+    }
+
+    private Lane laneOf(long userId) {
+        return lanes[(int) Math.floorMod(userId, (long) lanes.length)];
+    }
+
+    /**
+     * 내역 저장 후 요약에 반영
+     * - 요약 반영에 실패해도 내역은 이미 저장되었으므로 다시 저장하지 않는다.
+     * @param history
+     */
+    private void write(PendingHistory history) {
+        PointHistory saved = pointHistoryRepository.insert(history.userId(), history.amount(), history.type(), history.updateMillis());
+        try {
+            historySummaryRepository.record(saved);
+        } catch (RuntimeException e) {
+            log.error("포인트 내역 요약 반영 실패 {}", saved, e);
+        }
+    }
+
+    /**
+     * 간격을 늘려가며 최대 maxAttempts 번 저장하고, 끝내 실패하면 실패 목록에 넣는다.
+     * @param history
+     * @return 저장했으면 true
+     */
+    private boolean writeOrFail(PendingHistory history) {
+        long backoff = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(history);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("포인트 내역 저장 실패 [{}]회 시도, 실패 목록으로 이동 {}", attempt, history, e);
+                    deadLetters.add(history);
+                    failedCount.incrementAndGet();
+                    return false;
+                }
+                log.warn("포인트 내역 저장 실패 [{}]회, [{}]ms 후 다시 시도 {} : {}", attempt, backoff, history, e.getMessage());
+                //종료 중에도 재시도 간격은 지킨다. (인터럽트는 사용하지 않는다.)
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoff));
+                backoff *= 2;
+            }
+        }
+    }
+
+    /**
+     * 저장 대기 중인 포인트 내역
+     */
+    private record PendingHistory(
+            long userId,
+            long amount,
+            TransactionType type,
+            long updateMillis,
+            long enqueuedNanos
+    ) {
+    }
+
+    /**
+     * 저장 레인 (큐 + 저장 스레드)
+     */
+    private final class Lane implements Runnable {
+        private final BlockingQueue<PendingHistory> queue;
+        private final AtomicLong enqueued = new AtomicLong();   // 등록된 내역 수
+        private final AtomicLong written = new AtomicLong();    // 저장된 내역 수
+        private final AtomicLong failed = new AtomicLong();     // 실패 목록으로 옮긴 내역 수
+        private final Thread thread;
+
+        private Lane(int capacity, ThreadFactory threadFactory) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = threadFactory.newThread(this);
+            this.thread.start();
+        }
+
+        private void enqueue(PendingHistory history) throws InterruptedException {
+            enqueued.incrementAndGet();
+            try {
+                queue.put(history);
+            } catch (InterruptedException e) {
+                enqueued.decrementAndGet();
+                throw e;
+            }
+        }
+
+        /**
+         * 저장 스레드가 끝나기를 기다린 뒤 남은 내역을 호출한 스레드에서 저장
+         * - 저장 스레드가 끝나기 전에는 남은 내역을 꺼내지 않으므로 같은 유저의 저장 순서가 바뀌지 않는다.
+         */
+        private void awaitAndDrain() {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!thread.isAlive()) {
+                drainRemaining();
+            }
+        }
+
+        /**
+         * 저장 스레드 종료 후 남은 내역을 호출한 스레드에서 저장 (여러 스레드가 동시에 꺼내지 않도록 한 번에 하나씩)
+         * - 실패한 내역은 실패 목록으로 옮기고 나머지를 계속 저장한다.
+         */
+        private synchronized void drainRemaining() {
+            PendingHistory history;
+            while ((history = queue.poll()) != null) {
+                settle(history);
+            }
+        }
+
+        private void settle(PendingHistory history) {
+            if (writeOrFail(history)) {
+                written.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingHistory history = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (history == null) continue;
+                    settle(history);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
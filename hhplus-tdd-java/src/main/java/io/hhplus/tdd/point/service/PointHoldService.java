@@ -0,0 +1,113 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exception.TddCustomException;
+import io.hhplus.tdd.exception.TddRejectedException;
+import io.hhplus.tdd.point.PointHold;
+import io.hhplus.tdd.point.dto.PointHoldDto;
+import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 포인트 보류(hold) / 확정(capture) / 해제(release) 서비스
+ * - 보류 : 사용 가능 포인트(잔고 - 보류 중인 포인트)에서 예약만 하고 잔고는 바꾸지 않는다.
+ *   보류도 잔고를 검증하는 변경이므로 확정과 같이 유저별 명령 실행기에서 충전/사용과 같은 순서로 처리한다.
+ * - 확정 : 보류한 포인트를 잔고에서 차감하고 사용(USE) 내역으로 남긴다.
+ * - 해제 : 보류를 취소한다. 만료 시각이 지난 보류는 주기적으로 해제한다.
+ * - 보류/확정/해제 모두 유저별 명령 실행기에서 실행한다. 보류는 꺼낼 때(take) 한 번만 꺼내지므로
+ *   만료 해제와 겹쳐도 예약은 한 번만 해제된다.
+ */
+@Service
+public class PointHoldService {
+    private static final Logger log = LoggerFactory.getLogger(PointHoldService.class);
+
+    private final PointHoldRepository pointHoldRepository;  // 포인트 보류/예약
+    private final UseService useService;                    // 포인트 사용 서비스
+    private final long ttlMillis;                           // 보류 유지 시간
+
+    public PointHoldService(PointHoldRepository pointHoldRepository,
+                            UseService useService,
+                            @Value("${point.hold.ttl-millis:600000}") long ttlMillis) {
+        if (ttlMillis <= 0) throw new IllegalArgumentException("보류 유지 시간은 0보다 커야 합니다. [" + ttlMillis + "]");
+        this.pointHoldRepository = pointHoldRepository;
+        this.useService = useService;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 포인트 보류
+     * @param userId
+     * @param amount
+     * @return PointHoldDto
+     */
+    public PointHoldDto hold(long userId, long amount) {
+        if (amount <= 0) throw new TddCustomException("err-04", "보류할 포인트는 0보다 커야 합니다.");
+
+        useService.reservePoint(userId, amount);
+        PointHold hold = pointHoldRepository.save(userId, amount, System.currentTimeMillis() + ttlMillis);
+        log.info("유저 id [{}] 보류 id [{}] 보류 포인트[{}]", userId, hold.id(), amount);
+        return hold.toDto();
+    }
+
+    /**
+     * 보류한 포인트 사용 확정
+     * @param userId
+     * @param holdId
+     * @return 사용 후 유저 포인트
+     */
+    public UserPointDto capture(long userId, long holdId) {
+        PointHold hold = take(userId, holdId);
+        boolean restored = false;
+        try {
+            if (hold.isExpired(System.currentTimeMillis())) {
+                throw new TddCustomException("err-06", "보류 내역이 없거나 만료되었습니다.");
+            }
+            return useService.useHeldPoint(userId, hold.amount());
+        } catch (TddRejectedException e) {
+            //요청이 많아 차감하지 못한 경우에는 보류를 그대로 두고 다시 확정할 수 있게 한다.
+            pointHoldRepository.restore(hold);
+            restored = true;
+            throw e;
+        } finally {
+            if (!restored) pointHoldRepository.release(userId, hold.amount());
+        }
+    }
+
+    /**
+     * 보류 해제
+     * @param userId
+     * @param holdId
+     * @return 해제한 보류
+     */
+    public PointHoldDto release(long userId, long holdId) {
+        PointHold hold = take(userId, holdId);
+        pointHoldRepository.release(userId, hold.amount());
+        return hold.toDto();
+    }
+
+    /**
+     * 만료된 보류 해제
+     */
+    @Scheduled(fixedDelayString = "${point.hold.expire-sweep-millis:1000}")
+    public void releaseExpired() {
+        List<PointHold> expired = pointHoldRepository.removeExpired(System.currentTimeMillis());
+        for (PointHold hold : expired) {
+            pointHoldRepository.release(hold.userId(), hold.amount());
+        }
+        if (!expired.isEmpty()) {
+            log.info("만료된 보류 [{}]건 해제", expired.size());
+        }
+    }
+
+    private PointHold take(long userId, long holdId) {
+        PointHold hold = pointHoldRepository.remove(userId, holdId);
+        if (hold == null) throw new TddCustomException("err-06", "보류 내역이 없거나 만료되었습니다.");
+        return hold;
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 유저 포인트 조회 요청 실행기
+ * - point.async.enabled=true 면 조회를 고정 크기 풀에서 실행하고, 요청 처리(Tomcat) 스레드는 바로 반환한다.
+ *   (느린 조회로 요청 처리 스레드가 부족할 때만 켠다.)
+ * - 풀과 대기 큐가 모두 차면 RejectedExecutionException 으로 바로 거절한다. (503)
+ * - point.async.enabled=false (기본값) 면 요청 처리 스레드에서 바로 실행한다.
+ * Spring Boot 의 기본 applicationTaskExecutor 를 대체하지 않도록 Executor 빈으로 등록하지 않는다.
+ */
+@Component
+public class PointReadExecutor {
+
+    private final ThreadPoolExecutor workers;   // 조회 워커 풀 (비동기 모드가 아니면 null)
+
+    public PointReadExecutor(PointThreadFactories pointThreadFactories,
+                             @Value("${point.async.enabled:false}") boolean enabled,
+                             @Value("${point.async.pool-size:32}") int poolSize,
+                             @Value("${point.async.queue-capacity:1000}") int queueCapacity) {
+        this.workers = enabled
+                ? new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), pointThreadFactories.create("point-read-"))
+                : null;
+    }
+
+    /**
+     * 조회 실행
+     * @param query
+     * @return 조회 결과
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> query) {
+        if (workers == null) {
+            try {
+                return CompletableFuture.completedFuture(query.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(query, workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+}
@@ -1,35 +1,62 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.TddCustomException;
-import io.hhplus.tdd.point.PointController;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.dto.UserPointDto;
-import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
-import org.apache.catalina.User;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * 유저의 포인트 조회 서비스
+ * - 같은 유저의 조회가 동시에 들어오면 먼저 들어온 조회(leader) 하나만 저장소를 조회하고,
+ *   나머지(joined)는 그 결과를 함께 받는다. 조회가 끝나면 결과를 보관하지 않는다.
+ * - 조회 도중 같은 유저 그룹에 저장이 있었으면 진행 중인 조회에 합류하지 않고 새로 조회한다.
+ * - 합류 비율은 point.read.requests (result=leader/joined) 로 기록한다.
  */
 @Service
-@RequiredArgsConstructor
 public class PointService {
     private static final Logger log = LoggerFactory.getLogger(PointService.class);
 
-    private final UserPointTable userPointTable;    // 유저 포인트 DB 테이블
+    private final UserPointRepository userPointRepository;  // 유저 포인트 저장소 (캐시 포함)
+    private final ConcurrentHashMap<Long, Flight> inFlight = new ConcurrentHashMap<>();    // 유저별 진행 중인 조회
+    private final Counter leaderReads;                      // 저장소를 직접 조회한 요청 수
+    private final Counter joinedReads;                      // 진행 중인 조회에 합류한 요청 수
+
+    public PointService(UserPointRepository userPointRepository, MeterRegistry meterRegistry) {
+        this.userPointRepository = userPointRepository;
+        this.leaderReads = readCounter(meterRegistry, "leader");
+        this.joinedReads = readCounter(meterRegistry, "joined");
+    }
 
     /**
-     * 유저 id로 포인트 조회
+     * 유저 id로 포인트 조회 (동시 조회 합류)
      * @param userId
      * @return
      */
     public UserPointDto selectPointByUserId(long userId) {
+        return toDto(findCoalesced(userId));
+    }
+
+    /**
+     * 충전/사용 전 유저 포인트 조회
+     * - 진행 중인 조회는 이전 저장 전에 시작됐을 수 있으므로 합류하지 않고 항상 직접 조회한다.
+     * @param userId
+     * @return
+     */
+    public UserPointDto selectPointForUpdate(long userId) {
+        return toDto(userPointRepository.findById(userId));
+    }
+
+    private UserPointDto toDto(UserPoint dbUserPointEntity) {
         try {
-            UserPoint dbUserPointEntity = userPointTable.selectById(userId); // userId로 DB 조회
             UserPointDto dbUser = dbUserPointEntity.toDto();
             log.info("조회한 유저 정보 : {}", dbUser.toString());
             return dbUser;
@@ -37,4 +64,53 @@ public class PointService {
             throw new TddCustomException("err-01", "DB에 유저가 존재하지 않습니다.");
         }
     }
+
+    /**
+     * 같은 유저의 진행 중인 조회가 있으면 합류, 없으면 직접 조회
+     * @param userId
+     * @return UserPoint
+     */
+    private UserPoint findCoalesced(long userId) {
+        long writeStamp = userPointRepository.writeStamp(userId);
+        Flight flight = new Flight(writeStamp, new CompletableFuture<>());
+        Flight leader = inFlight.compute(userId, (key, current) ->
+                (current != null && current.writeStamp() == writeStamp) ? current : flight);
+
+        if (leader != flight) {
+            joinedReads.increment();
+            try {
+                return leader.result().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+
+        leaderReads.increment();
+        try {
+            UserPoint userPoint = userPointRepository.findById(userId);
+            flight.result().complete(userPoint);
+            return userPoint;
+        } catch (RuntimeException e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(userId, flight);
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("point.read.requests")
+                .description("포인트 조회 요청 수 (joined / 전체 = 합류 비율)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 진행 중인 조회
+     * @param writeStamp 조회를 시작할 때의 유저 그룹 쓰기 횟수
+     * @param result 조회 결과
+     */
+    private record Flight(long writeStamp, CompletableFuture<UserPoint> result) {
+    }
 }
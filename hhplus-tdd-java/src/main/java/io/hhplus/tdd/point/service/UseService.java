@@ -1,11 +1,11 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.TddCustomException;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -16,15 +16,19 @@ import static io.hhplus.tdd.point.TransactionType.USE;
 
 /**
  * 포인트 사용 서비스
+ * - 보류 중인 포인트는 사용할 수 없다. 사용할 포인트는 저장 전에 예약하고 저장이 끝나면 해제한다.
  */
 @Service
 @RequiredArgsConstructor
 public class UseService {
     private static final Logger log = LoggerFactory.getLogger(ChargeService.class);
 
-    private final UserPointTable userPointTable;        // 유저 포인트 DB 테이블
-    private final PointHistoryTable pointHistoryTable;  // 포인트 내역 테이블
+    private final UserPointRepository userPointRepository;      // 유저 포인트 저장소 (캐시 포함)
+    private final PointHistoryAppender pointHistoryAppender;    // 포인트 내역 비동기 저장
     private final PointService pointService;            // 포인트 조회 서비스
+    private final UserLockManager userLockManager;      // 유저별 락 관리
+    private final OptimisticPointUpdater optimisticPointUpdater;        // 낙관적 포인트 갱신 (락 대신 사용)
+    private final PointHoldRepository pointHoldRepository;              // 포인트 보류/예약
 
     /**
      * 포인트 사용
@@ -32,27 +36,115 @@ public class UseService {
      * @param usePoint
      * @return
      */
-    public synchronized UserPointDto useUserPoint(long userId, long usePoint) {
+    public UserPointDto useUserPoint(long userId, long usePoint) {
+        if (optimisticPointUpdater.isEnabled()) {
+            return useOptimistic(userId, usePoint);
+        }
+        return userLockManager.executeWithLock(userId, () -> use(userId, usePoint));
+    }
+
+    /**
+     * 포인트 사용 (낙관적 모드, 유저 락 없음)
+     * - 재시도할 때마다 최신 포인트로 잔고를 다시 검증한다.
+     * @param userId
+     * @param usePoint
+     * @return
+     */
+    private UserPointDto useOptimistic(long userId, long usePoint) {
+        //보류 중인 포인트를 뺀 사용 가능 포인트로 검증
+        reserveOptimistic(userId, usePoint);
+        try {
+            UserPointDto resultUserPoint = optimisticPointUpdater.update(userId, point -> {
+                long totalPoint = point - usePoint;
+                if (totalPoint < 0) throw new TddCustomException("err-03", "포인트가 부족합니다.");
+                return totalPoint;
+            });
+            //포인트 사용 내역 추가
+            addUseHistory(userId, usePoint);
+            return resultUserPoint;
+        } finally {
+            pointHoldRepository.release(userId, usePoint);
+        }
+    }
+
+    /**
+     * 포인트 보류 예약
+     * - 유저 락 모드에서는 유저 락을 잡고 조회한 잔고로 예약하므로, 저장은 끝났지만 예약을 아직 해제하지 않은 사용과 겹치지 않는다.
+     * - 낙관적 모드에서는 버전이 있는 최신 포인트로 예약하고, 그 사이 갱신이 있었으면 다시 예약한다.
+     * - 두 모드 모두 묶음 처리와 같은 tryReserve 로 예약한다.
+     * @param userId
+     * @param amount
+     */
+    public void reservePoint(long userId, long amount) {
+        if (optimisticPointUpdater.isEnabled()) {
+            reserveOptimistic(userId, amount);
+            return;
+        }
+        userLockManager.executeWithLock(userId, () -> {
+            UserPointDto originUserPointDto = pointService.selectPointForUpdate(userId);
+            if (!pointHoldRepository.tryReserve(userId, originUserPointDto.getPoint(), amount))
+                throw new TddCustomException("err-03", "포인트가 부족합니다.");
+            return null;
+        });
+    }
+
+    private void reserveOptimistic(long userId, long amount) {
+        optimisticPointUpdater.reserve(userId,
+                balance -> pointHoldRepository.tryReserve(userId, balance, amount),
+                () -> pointHoldRepository.release(userId, amount));
+    }
+
+    /**
+     * 보류했던 포인트 사용 확정
+     * - 보류할 때 이미 예약했으므로 잔고를 다시 검증하지 않는다. 예약 해제는 호출한 쪽에서 한다.
+     * @param userId
+     * @param heldPoint
+     * @return
+     */
+    public UserPointDto useHeldPoint(long userId, long heldPoint) {
+        if (optimisticPointUpdater.isEnabled()) {
+            UserPointDto resultUserPoint = optimisticPointUpdater.update(userId, point -> point - heldPoint);
+            addUseHistory(userId, heldPoint);
+            return resultUserPoint;
+        }
+        return userLockManager.executeWithLock(userId, () -> {
+            UserPointDto originUserPointDto = pointService.selectPointForUpdate(userId);
+            UserPoint resultUserPoint = subtractPoint(userId, originUserPointDto.getPoint() - heldPoint);
+            addUseHistory(userId, heldPoint);
+            return resultUserPoint.toDto();
+        });
+    }
+
+    /**
+     * 포인트 사용 (유저 락을 잡은 상태에서 호출)
+     * @param userId
+     * @param usePoint
+     * @return
+     */
+    private UserPointDto use(long userId, long usePoint) {
         long totalPoint = 0;                            // 누적 포인트
         UserPoint resultUserPoint = null;               // 포인트 사용 후 남은 포인트
         PointHistory resultPointHistory = null;         // 포인트 사용 후 추가된 포인트 내역
 
         try {
             //유저의 포인트 조회
-            UserPointDto originUserPointDto = pointService.selectPointByUserId(userId);
+            UserPointDto originUserPointDto = pointService.selectPointForUpdate(userId);
             //남은 포인트를 크게 해서 포인트 부족한 예외를 제외시킴.
 //            originUserPointDto.setPoint(999999L);
 
             totalPoint = originUserPointDto.getPoint() - usePoint;
             log.info("기존 포인트[{}] / 사용한 포인트[{}] => 누적 포인트[{}]", originUserPointDto.getPoint(), usePoint, totalPoint);
 
-            //사용할 포인트를 차감한 누적 포인트가 0보다 크거나 같아야 한다.
-            if (totalPoint < 0) throw new TddCustomException("err-03", "포인트가 부족합니다.");
-            else {
+            //사용할 포인트를 차감한 누적 포인트가 0보다 크거나 같아야 하고, 보류 중인 포인트는 사용할 수 없다.
+            if (totalPoint < 0 || !pointHoldRepository.tryReserve(userId, originUserPointDto.getPoint(), usePoint))
+                throw new TddCustomException("err-03", "포인트가 부족합니다.");
+            try {
                 //차감해서 유저 포인트 업데이트
                 resultUserPoint = subtractPoint(userId, totalPoint);
                 //포인트 사용 내역 추가
                 addUseHistory(userId, usePoint);
+            } finally {
+                pointHoldRepository.release(userId, usePoint);
             }
             return resultUserPoint.toDto();
         } catch (NumberFormatException e) {
@@ -67,16 +159,15 @@ public class UseService {
      * @return UserPoint
      */
     private UserPoint subtractPoint(long userId, long point) {
-        return userPointTable.insertOrUpdate(userId, point);
+        return userPointRepository.save(userId, point);
     }
 
     /**
-     * 사용 내역 추가
+     * 사용 내역 추가 (비동기 저장, 요약은 저장 후 갱신)
      * @param userId
      * @param usePoint
-     * @return PointHistory
      */
-    private PointHistory addUseHistory(long userId, long usePoint) {
-        return pointHistoryTable.insert(userId, usePoint, USE, System.currentTimeMillis());
+    private void addUseHistory(long userId, long usePoint) {
+        pointHistoryAppender.append(userId, usePoint, USE, System.currentTimeMillis());
     }
 }
@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exception.TddRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저별 락 관리
+ * - 충전/사용 서비스가 같은 락을 공유하므로 같은 유저의 충전과 사용은 순차적으로 처리된다.
+ * - 유저 수와 상관없이 고정된 개수의 락(stripe)에 유저를 분배하므로 메모리가 늘어나지 않는다.
+ * - 서로 다른 유저도 같은 락에 배정될 수 있고(stripe 충돌), 그러면 관계없는 유저의 처리를 기다리다 err-09 로 실패할 수 있다.
+ *   동시에 처리 중인 유저 수가 락 개수에 가까워질수록 충돌이 늘어나므로 락 개수(point.lock.stripes)를 조정한다.
+ *   (락 하나에 약 50 bytes 라서 수만 개로 늘려도 메모리 부담은 작다.)
+ * - 락은 비공정(non-fair) 모드다. 같은 유저의 요청 순서는 명령 실행기(유저별 mailbox)가 보장하므로
+ *   공정 모드의 대기열 순서 보장 비용(매 획득마다 대기열 확인, 스레드 전환)을 들이지 않는다.
+ * - 락을 얻기까지 대기한 시간은 point.lock.wait 타이머로 기록하고, 대기 원인을 cause 태그로 구분한다.
+ *   none : 바로 획득 / same-user : 같은 유저의 요청을 기다림 / stripe-collision : 같은 락에 배정된 다른 유저를 기다림
+ *   (대기를 시작할 때 락을 잡고 있던 유저 기준이며, 대기 시간 제한으로 실패한 경우도 기록한다.)
+ * - 대기 시간 제한(point.lock.timeout-millis)을 넘으면 작업을 실행하지 않고 503(err-09)으로 실패한다.
+ */
+@Component
+public class UserLockManager {
+    private static final int DEFAULT_STRIPES = 1024;
+
+    private final ReentrantLock[] locks;    // 유저별 락 (stripe)
+    private final AtomicLongArray holders;  // 락별로 마지막에 락을 잡은 유저 id
+    private final int mask;
+    private final long timeoutNanos;        // 락 대기 시간 제한 (0 이면 제한 없음)
+    private final Timer noWaitTimer;        // 바로 획득한 경우
+    private final Timer sameUserWaitTimer;  // 같은 유저를 기다린 시간
+    private final Timer collisionWaitTimer; // 같은 락에 배정된 다른 유저를 기다린 시간
+
+    /**
+     * 대기 시간 제한 없는 락
+     * @param meterRegistry
+     */
+    public UserLockManager(MeterRegistry meterRegistry) {
+        this(meterRegistry, DEFAULT_STRIPES);
+    }
+
+    /**
+     * 대기 시간 제한 없는 락
+     * @param meterRegistry
+     * @param stripes 락 개수 (2의 거듭제곱으로 올림)
+     */
+    public UserLockManager(MeterRegistry meterRegistry, int stripes) {
+        this(meterRegistry, stripes, 0L);
+    }
+
+    /**
+     * @param meterRegistry
+     * @param stripes 락 개수 (2의 거듭제곱으로 올림)
+     * @param timeoutMillis 락 대기 시간 제한 (0 이면 제한 없음)
+     */
+    @Autowired
+    public UserLockManager(MeterRegistry meterRegistry,
+                           @Value("${point.lock.stripes:1024}") int stripes,
+                           @Value("${point.lock.timeout-millis:3000}") long timeoutMillis) {
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(timeoutMillis, 0L));
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.holders = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.noWaitTimer = lockWaitTimer(meterRegistry, "none");
+        this.sameUserWaitTimer = lockWaitTimer(meterRegistry, "same-user");
+        this.collisionWaitTimer = lockWaitTimer(meterRegistry, "stripe-collision");
+    }
+
+    private static Timer lockWaitTimer(MeterRegistry meterRegistry, String cause) {
+        return Timer.builder("point.lock.wait")
+                .description("유저 락 획득 대기 시간")
+                .tag("cause", cause)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 유저 락을 잡은 상태에서 작업 실행
+     * @param userId
+     * @param action
+     * @return 작업 결과
+     */
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        int stripe = stripeOf(userId);
+        ReentrantLock lock = locks[stripe];
+        if (lock.tryLock()) {
+            noWaitTimer.record(0, TimeUnit.NANOSECONDS);
+        } else {
+            Timer waitTimer = holders.get(stripe) == userId ? sameUserWaitTimer : collisionWaitTimer;
+            long waitStartedAt = System.nanoTime();
+            try {
+                acquire(lock);
+            } finally {
+                waitTimer.record(System.nanoTime() - waitStartedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+        holders.set(stripe, userId);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 락 획득 (대기 시간 제한이 있으면 제한 시간까지만 대기)
+     * @param lock
+     */
+    private void acquire(ReentrantLock lock) {
+        if (timeoutNanos == 0) {
+            lock.lock();
+            return;
+        }
+        try {
+            if (lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new TddRejectedException(503, "err-09", "같은 유저의 요청이 처리 중이라 대기 시간을 초과했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    /**
+     * 유저 id에 해당하는 락 조회
+     * @param userId
+     * @return ReentrantLock
+     */
+    ReentrantLock lockOf(long userId) {
+        return locks[stripeOf(userId)];
+    }
+
+    private int stripeOf(long userId) {
+        int hash = Long.hashCode(userId);
+        hash ^= (hash >>> 16);
+        hash *= 0x45d9f3b;
+        hash ^= (hash >>> 16);
+        return hash & mask;
+    }
+}
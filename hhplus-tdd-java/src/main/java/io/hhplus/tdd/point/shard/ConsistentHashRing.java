@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 유저 id → 인스턴스 일관된 해시 링
+ * - 인스턴스마다 가상 노드를 여러 개 두어 유저가 인스턴스에 고르게 나뉘도록 한다.
+ * - 인스턴스가 추가/제거되면 그 인스턴스의 구간에 있던 유저만 다른 인스턴스로 옮겨진다.
+ * - 링은 만든 뒤 바뀌지 않는다. (정렬된 배열에서 이진 탐색, 조회 시 객체를 만들지 않음)
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;        // 가상 노드 위치 (오름차순)
+    private final String[] owners;      // 위치별 인스턴스
+    private final List<String> members; // 인스턴스 목록
+
+    /**
+     * @param members 인스턴스 목록 (중복 불가)
+     * @param virtualNodes 인스턴스별 가상 노드 수
+     */
+    public ConsistentHashRing(List<String> members, int virtualNodes) {
+        if (members.isEmpty()) throw new IllegalArgumentException("샤드 인스턴스가 없습니다.");
+        if (virtualNodes <= 0) throw new IllegalArgumentException("가상 노드 수는 0보다 커야 합니다. [" + virtualNodes + "]");
+        if (members.stream().distinct().count() != members.size()) {
+            throw new IllegalArgumentException("샤드 인스턴스가 중복되었습니다. " + members);
+        }
+        this.members = List.copyOf(members);
+
+        int size = members.size() * virtualNodes;
+        long[][] nodes = new long[size][];
+        int n = 0;
+        for (int m = 0; m < members.size(); m++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                nodes[n++] = new long[]{hash(members.get(m) + "#" + v), m};
+            }
+        }
+        //위치가 같으면 인스턴스 순서로 정렬해서 모든 인스턴스에서 같은 링이 만들어지도록 한다.
+        Arrays.sort(nodes, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = nodes[i][0];
+            owners[i] = members.get((int) nodes[i][1]);
+        }
+    }
+
+    /**
+     * 유저를 담당하는 인스턴스 조회 (유저 위치 이후의 첫 가상 노드)
+     * @param userId
+     * @return String
+     */
+    public String ownerOf(long userId) {
+        long position = mix(userId);
+        int index = Arrays.binarySearch(points, position);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    /**
+     * 유저 id 위치 (연속된 id 도 링 전체에 흩어지도록 비트를 섞는다.)
+     */
+    static long mix(long userId) {
+        long h = userId;
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+
+    /**
+     * 가상 노드 위치 (JVM 과 상관없이 같은 값이 나오도록 MD5 앞 8 bytes 사용)
+     */
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xff);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point.shard;
+
+import io.hhplus.tdd.point.dto.PointCommandDto;
+import io.hhplus.tdd.point.dto.PointCommandResultDto;
+import io.hhplus.tdd.point.service.PointBatchService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 샤딩 환경의 포인트 충전/사용 일괄 처리
+ * - 명령을 담당 인스턴스별로 나눠서 이 인스턴스 몫은 직접 처리하고, 나머지는 담당 인스턴스에 일괄 처리로 보낸다.
+ * - 결과는 원래 요청 순서(index)로 합친다. 담당 인스턴스 호출이 실패하면 그 몫의 명령만 실패 결과(err-10)가 된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PointShardBatchService {
+    private static final Logger log = LoggerFactory.getLogger(PointShardBatchService.class);
+
+    private final PointShardRouter pointShardRouter;    // 유저별 담당 인스턴스
+    private final PointShardClient pointShardClient;    // 담당 인스턴스 호출
+    private final PointBatchService pointBatchService;  // 이 인스턴스 몫 일괄 처리
+
+    /**
+     * 포인트 충전/사용 일괄 처리
+     * @param commands
+     * @param forwardedFrom FORWARDED_HEADER 값 (다른 인스턴스가 보낸 요청이면 나누지 않고 모두 여기서 처리)
+     * @param remoteAddr 요청한 주소 (헤더를 보낸 인스턴스 확인용)
+     * @return 요청 순서대로 정렬된 처리 결과
+     */
+    public CompletableFuture<List<PointCommandResultDto>> executeBatch(List<PointCommandDto> commands, String forwardedFrom, String remoteAddr) {
+        if (!pointShardRouter.isEnabled() || pointShardRouter.isFromPeer(forwardedFrom, remoteAddr)) {
+            return pointBatchService.executeBatch(commands);
+        }
+        pointBatchService.checkBatchSize(commands);
+
+        //담당 인스턴스별로 요청 순서를 유지해서 묶기
+        Map<String, List<Integer>> indexesByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            indexesByOwner.computeIfAbsent(pointShardRouter.ownerOf(commands.get(i).getUserId()), key -> new ArrayList<>()).add(i);
+        }
+        if (indexesByOwner.size() == 1 && pointShardRouter.isLocal(commands.get(0).getUserId())) {
+            return pointBatchService.executeBatch(commands);
+        }
+        log.info("포인트 일괄 처리 명령 수 [{}] 담당 인스턴스 수 [{}]", commands.size(), indexesByOwner.size());
+
+        PointCommandResultDto[] results = new PointCommandResultDto[commands.size()];
+        List<CompletableFuture<Void>> ownerFutures = new ArrayList<>(indexesByOwner.size());
+        indexesByOwner.forEach((owner, indexes) -> {
+            List<PointCommandDto> part = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                part.add(commands.get(index));
+            }
+            boolean local = pointShardRouter.isLocal(part.get(0).getUserId());
+            CompletableFuture<List<PointCommandResultDto>> partResults = local
+                    ? pointBatchService.executeBatch(part)
+                    : pointShardClient.forwardBatch(owner, part);
+            ownerFutures.add(partResults
+                    .thenAccept(partial -> {
+                        //부분 결과의 index 를 원래 요청의 순서로 되돌린다.
+                        for (int i = 0; i < partial.size(); i++) {
+                            PointCommandResultDto result = partial.get(i);
+                            result.setIndex(indexes.get(i));
+                            results[indexes.get(i)] = result;
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("담당 인스턴스 일괄 처리 실패 [{}] : {}", owner, e.getMessage());
+                        for (int index : indexes) {
+                            results[index] = unreachable(index, commands.get(index));
+                        }
+                        return null;
+                    }));
+        });
+
+        return CompletableFuture.allOf(ownerFutures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> Arrays.asList(results));
+    }
+
+    private static PointCommandResultDto unreachable(int index, PointCommandDto command) {
+        return PointCommandResultDto.builder()
+                .index(index)
+                .userId(command.getUserId())
+                .type(command.getType())
+                .amount(command.getAmount())
+                .success(false)
+                .code("err-10")
+                .message("유저를 담당하는 인스턴스에 연결할 수 없습니다. 잠시 후 다시 시도해주세요.")
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package io.hhplus.tdd.point.shard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.dto.PointCommandDto;
+import io.hhplus.tdd.point.dto.PointCommandResultDto;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 담당 인스턴스 호출 (forward 모드 요청, 일괄 처리 요청의 다른 인스턴스 몫)
+ * - 호출한 요청에는 FORWARDED_HEADER 를 붙여서 받은 인스턴스가 다시 보내지 않도록 한다.
+ */
+@Component
+public class PointShardClient {
+    private static final TypeReference<List<PointCommandResultDto>> BATCH_RESULTS = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String self;          // 이 인스턴스 주소 (FORWARDED_HEADER 값)
+    private final Duration timeout;     // 담당 인스턴스 응답 대기 시간
+
+    public PointShardClient(ObjectMapper objectMapper,
+                            @Value("${point.shard.self:}") String self,
+                            @Value("${point.shard.timeout-millis:5000}") long timeoutMillis) {
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.objectMapper = objectMapper;
+        this.self = self;
+    }
+
+    /**
+     * 요청을 담당 인스턴스로 보내고 응답(상태, Content-Type, 본문)을 그대로 돌려준다.
+     * @param request
+     * @param target 담당 인스턴스 주소 + 경로 + 쿼리
+     * @param response
+     */
+    public void forward(HttpServletRequest request, String target, HttpServletResponse response) throws IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target))
+                .timeout(timeout)
+                .header(PointShardRouter.FORWARDED_HEADER, self)
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        copyHeader(request, builder, HttpHeaders.CONTENT_TYPE);
+        copyHeader(request, builder, HttpHeaders.ACCEPT);
+
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("담당 인스턴스 호출이 중단되었습니다. [" + target + "]", e);
+        }
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+        try (InputStream in = forwarded.body()) {
+            //내보내기(NDJSON)처럼 긴 응답도 모아두지 않고 바로 흘려보낸다.
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    /**
+     * 일괄 처리 명령을 담당 인스턴스에서 처리
+     * @param owner 담당 인스턴스 주소
+     * @param commands
+     * @return 명령 순서대로 정렬된 처리 결과 (index 는 commands 기준)
+     */
+    public CompletableFuture<List<PointCommandResultDto>> forwardBatch(String owner, List<PointCommandDto> commands) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(owner + "/point/batch"))
+                    .timeout(timeout)
+                    .header(PointShardRouter.FORWARDED_HEADER, self)
+                    .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(commands)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("담당 인스턴스 일괄 처리 실패 [" + owner + "] status [" + response.statusCode() + "]");
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), BATCH_RESULTS);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static void copyHeader(HttpServletRequest request, HttpRequest.Builder builder, String name) {
+        String value = request.getHeader(name);
+        if (value != null) {
+            builder.header(name, value);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.shard;
+
+import io.hhplus.tdd.exception.TddRejectedException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * /point/{id}/** 요청 중 이 인스턴스가 담당하지 않는 유저의 요청을 담당 인스턴스로 보낸다.
+ * - 다른 인스턴스가 보낸 요청(FORWARDED_HEADER)은 다시 보내지 않고 여기서 처리한다.
+ *   헤더를 믿을 수 없으면(PointShardRouter.isFromPeer) 헤더가 없는 요청과 같이 담당 인스턴스를 확인한다.
+ * - 경로에 유저 id 가 없는 요청(일괄 처리)은 그대로 처리한다. (PointShardBatchService)
+ */
+@Component
+@RequiredArgsConstructor
+public class PointShardInterceptor implements HandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(PointShardInterceptor.class);
+
+    private final PointShardRouter pointShardRouter;    // 유저별 담당 인스턴스
+    private final PointShardClient pointShardClient;    // 담당 인스턴스 호출
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        //비동기 응답을 돌려주는 재요청(ASYNC)은 처음 요청에서 이미 확인했다.
+        if (!pointShardRouter.isEnabled() || request.getDispatcherType() == DispatcherType.ASYNC
+                || pointShardRouter.isFromPeer(request.getHeader(PointShardRouter.FORWARDED_HEADER), request.getRemoteAddr())) {
+            return true;
+        }
+        Long userId = userIdOf(request);
+        if (userId == null || pointShardRouter.isLocal(userId)) {
+            pointShardRouter.countLocal();
+            return true;
+        }
+
+        String query = request.getQueryString();
+        String target = pointShardRouter.ownerOf(userId) + request.getRequestURI() + (query == null ? "" : "?" + query);
+        if (!pointShardRouter.isForward()) {
+            pointShardRouter.countRedirected();
+            //307 은 메서드와 본문을 유지한 채 다시 요청하게 한다. (PATCH/POST 포함)
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target);
+            return false;
+        }
+
+        pointShardRouter.countForwarded();
+        try {
+            pointShardClient.forward(request, target, response);
+        } catch (IOException e) {
+            log.warn("담당 인스턴스 호출 실패 [{}] : {}", target, e.getMessage());
+            throw new TddRejectedException(503, "err-10", "유저를 담당하는 인스턴스에 연결할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return false;
+    }
+
+    /**
+     * 경로의 유저 id ({id})
+     * @param request
+     * @return 없거나 숫자가 아니면 null (컨트롤러에서 처리)
+     */
+    @SuppressWarnings("unchecked")
+    private static Long userIdOf(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables == null ? null : variables.get("id");
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.hhplus.tdd.point.shard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 유저별 담당 인스턴스 결정 (point.shard.enabled=true)
+ * - 인스턴스 목록(point.shard.members)은 설정으로 고정하고, 모든 인스턴스가 같은 목록으로 같은 링을 만든다.
+ * - 자기 주소(point.shard.self)가 담당하지 않는 유저의 요청은 담당 인스턴스로 보낸다.
+ *   redirect : 307 + Location 으로 클라이언트가 담당 인스턴스에 다시 요청한다. (인스턴스 간 호출 없음)
+ *   forward  : 이 인스턴스가 담당 인스턴스를 호출해서 응답을 그대로 돌려준다.
+ * - FORWARDED_HEADER 는 값이 자기 외의 인스턴스 주소이고 요청이 그 인스턴스의 호스트에서 왔을 때만 믿는다.
+ *   그 외에는 헤더가 없는 요청과 같이 담당 인스턴스를 확인한다. (클라이언트가 헤더로 라우팅을 건너뛸 수 없다.)
+ *   인스턴스 호스트의 주소는 시작할 때 조회하고 point.shard.resolve-interval-millis 마다 다시 조회한다.
+ *   요청 처리 중에는 이름 조회(DNS)를 하지 않고, 다시 조회하다 실패한 인스턴스는 이전 주소를 그대로 쓴다.
+ * - 경로별 처리 수는 point.shard.requests (route=local/redirect/forward) 로 기록한다.
+ */
+@Component
+public class PointShardRouter {
+    private static final Logger log = LoggerFactory.getLogger(PointShardRouter.class);
+
+    public static final String FORWARDED_HEADER = "X-Point-Shard-Forwarded";  // 다른 인스턴스가 보낸 요청 (다시 보내지 않는다.)
+
+    private final boolean enabled;          // 샤딩 사용 여부
+    private final String self;              // 이 인스턴스 주소
+    private final List<String> members;     // 전체 인스턴스 주소 (샤딩을 사용하지 않으면 비어 있음)
+    private final boolean forward;          // 담당 인스턴스 호출 여부 (false 면 redirect)
+    private final ConsistentHashRing ring;  // 유저 → 인스턴스 (샤딩을 사용하지 않으면 null)
+    private volatile Map<String, Set<String>> peerAddresses = Map.of();    // 자기 외의 인스턴스 주소 → 호스트 IP 목록
+    private final Counter localRequests;
+    private final Counter redirectedRequests;
+    private final Counter forwardedRequests;
+
+    public PointShardRouter(@Value("${point.shard.enabled:false}") boolean enabled,
+                            @Value("${point.shard.self:}") String self,
+                            @Value("${point.shard.members:}") List<String> members,
+                            @Value("${point.shard.virtual-nodes:160}") int virtualNodes,
+                            @Value("${point.shard.routing:redirect}") String routing,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.self = normalize(self);
+        this.forward = "forward".equalsIgnoreCase(routing);
+        if (enabled) {
+            List<String> normalized = members.stream().map(PointShardRouter::normalize).filter(member -> !member.isEmpty()).toList();
+            if (!normalized.contains(this.self)) {
+                throw new IllegalArgumentException("샤드 인스턴스 목록에 자기 주소가 없습니다. self [" + this.self + "] members " + normalized);
+            }
+            this.members = normalized;
+            this.ring = new ConsistentHashRing(normalized, virtualNodes);
+            log.info("샤딩 사용 self [{}] members {} routing [{}]", this.self, normalized, forward ? "forward" : "redirect");
+            refreshPeerAddresses();
+        } else {
+            this.members = List.of();
+            this.ring = null;
+        }
+        this.localRequests = routeCounter(meterRegistry, "local");
+        this.redirectedRequests = routeCounter(meterRegistry, "redirect");
+        this.forwardedRequests = routeCounter(meterRegistry, "forward");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isForward() {
+        return forward;
+    }
+
+    /**
+     * 유저를 담당하는 인스턴스 주소
+     * @param userId
+     * @return 샤딩을 사용하지 않으면 자기 주소
+     */
+    public String ownerOf(long userId) {
+        return ring == null ? self : ring.ownerOf(userId);
+    }
+
+    /**
+     * 이 인스턴스가 담당하는 유저인지 여부
+     * @param userId
+     * @return boolean
+     */
+    public boolean isLocal(long userId) {
+        return ring == null || self.equals(ring.ownerOf(userId));
+    }
+
+    /**
+     * 다른 인스턴스가 보낸 요청인지 여부
+     * - 헤더 값이 자기 외의 인스턴스 주소이고, 요청한 주소가 그 인스턴스 호스트의 주소(미리 조회한 값)일 때만 true
+     * @param forwardedFrom FORWARDED_HEADER 값 (보낸 인스턴스 주소)
+     * @param remoteAddr 요청한 주소 (IP)
+     * @return boolean
+     */
+    public boolean isFromPeer(String forwardedFrom, String remoteAddr) {
+        if (!enabled || forwardedFrom == null || remoteAddr == null) {
+            return false;
+        }
+        Set<String> addresses = peerAddresses.get(normalize(forwardedFrom));
+        return addresses != null && addresses.contains(remoteAddr);
+    }
+
+    /**
+     * 자기 외의 인스턴스 호스트 주소 다시 조회
+     * - 조회에 실패한 인스턴스는 이전에 조회한 주소를 유지한다.
+     */
+    @Scheduled(fixedDelayString = "${point.shard.resolve-interval-millis:60000}")
+    public void refreshPeerAddresses() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Set<String>> previous = peerAddresses;
+        Map<String, Set<String>> resolved = new HashMap<>();
+        for (String member : members) {
+            if (member.equals(self)) {
+                continue;
+            }
+            try {
+                resolved.put(member, Arrays.stream(InetAddress.getAllByName(URI.create(member).getHost()))
+                        .map(InetAddress::getHostAddress)
+                        .collect(Collectors.toUnmodifiableSet()));
+            } catch (IllegalArgumentException | UnknownHostException e) {
+                log.warn("인스턴스 주소 조회 실패 [{}] 이전 주소 {} 유지 : {}", member, previous.getOrDefault(member, Set.of()), e.getMessage());
+                resolved.put(member, previous.getOrDefault(member, Set.of()));
+            }
+        }
+        peerAddresses = Map.copyOf(resolved);
+    }
+
+    void countLocal() {
+        localRequests.increment();
+    }
+
+    void countRedirected() {
+        redirectedRequests.increment();
+    }
+
+    void countForwarded() {
+        forwardedRequests.increment();
+    }
+
+    /**
+     * 주소 끝의 / 제거
+     */
+    private static String normalize(String address) {
+        String trimmed = address == null ? "" : address.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("point.shard.requests")
+                .description("샤드 경로별 요청 수")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
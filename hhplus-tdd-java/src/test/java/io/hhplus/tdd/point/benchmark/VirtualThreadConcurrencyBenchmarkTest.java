@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플랫폼 스레드 / 가상 스레드 모드의 최대 동시 처리 수 비교
+ * - 플랫폼 스레드 모드는 Tomcat 기본 최대 스레드 수(200)의 고정 풀로 요청을 처리한다.
+ * - 가상 스레드 모드는 요청마다 가상 스레드를 만든다. (JDK 21 이상에서만 실행)
+ * - 동시 요청 수를 늘려가며 모든 요청의 p99 응답 시간이 기준 시간 안에 들어오는 최대 동시 요청 수를 구한다.
+ * 실행 : ./gradlew benchmark -PbenchmarkJdk=21
+ */
+@Tag("benchmark")
+public class VirtualThreadConcurrencyBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConcurrencyBenchmarkTest.class);
+
+    private static final int PLATFORM_POOL_SIZE = 200;                          // Tomcat 기본 최대 스레드 수
+    private static final int[] CONCURRENCY_LEVELS = {100, 200, 500, 1000, 2000, 5000};
+    private static final long P99_LIMIT_MILLIS = 400;                           // 조회 최대 지연(200ms)의 2배
+
+    private UserPointTable userPointTable = new UserPointTable();
+    private UserPointCache userPointCache = new UserPointCache(0, 0);          // 매 요청 DB 조회
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointService pointService = new PointService(new UserPointRepository(userPointTable, userPointCache, meterRegistry), meterRegistry);
+
+    @Test
+    public void compareMaxSustainableConcurrency() throws InterruptedException {
+        int platform = maxSustainableConcurrency("platform", Executors.newFixedThreadPool(PLATFORM_POOL_SIZE));
+        logger.info("[플랫폼 스레드] 최대 동시 요청 수 [{}]", platform);
+
+        if (!PointThreadFactories.isVirtualThreadSupported()) {
+            logger.info("[가상 스레드] 지원하지 않는 JDK 입니다. (java.version={})", System.getProperty("java.version"));
+            return;
+        }
+        PointThreadFactories virtualThreads = new PointThreadFactories(true);
+        int virtual = maxSustainableConcurrency("virtual", Executors.newCachedThreadPool(virtualThreads.create("benchmark-virtual-")));
+        logger.info("[가상 스레드] 최대 동시 요청 수 [{}]", virtual);
+
+        assertThat(virtual).isGreaterThanOrEqualTo(platform);
+    }
+
+    /**
+     * 동시 요청 수를 늘려가며 p99 응답 시간이 기준을 넘기 직전의 동시 요청 수
+     */
+    private int maxSustainableConcurrency(String mode, ExecutorService executor) throws InterruptedException {
+        int sustainable = 0;
+        try {
+            for (int concurrency : CONCURRENCY_LEVELS) {
+                long[] latencies = run(executor, concurrency);
+                Arrays.sort(latencies);
+                long p50 = TimeUnit.NANOSECONDS.toMillis(latencies[latencies.length / 2]);
+                long p99 = TimeUnit.NANOSECONDS.toMillis(latencies[(int) (latencies.length * 0.99)]);
+                logger.info("[{}] 동시 요청 [{}] p50 [{}ms] p99 [{}ms]", mode, concurrency, p50, p99);
+                if (p99 > P99_LIMIT_MILLIS) break;
+                sustainable = concurrency;
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return sustainable;
+    }
+
+    /**
+     * 동시 요청을 한꺼번에 보내고 요청별 응답 시간(요청 시점부터 완료까지) 측정
+     */
+    private long[] run(ExecutorService executor, int concurrency) throws InterruptedException {
+        long[] latencies = new long[concurrency];
+        CountDownLatch latch = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int index = i;
+            long requestedAt = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    pointService.selectPointByUserId(index % 100);
+                } finally {
+                    latencies[index] = System.nanoTime() - requestedAt;
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        return latencies;
+    }
+}
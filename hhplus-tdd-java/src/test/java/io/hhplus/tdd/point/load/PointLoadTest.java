@@ -0,0 +1,238 @@
+package io.hhplus.tdd.point.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.TddCustomException;
+import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.hhplus.tdd.point.service.ChargeService;
+import io.hhplus.tdd.point.service.HistoryExportService;
+import io.hhplus.tdd.point.service.HistoryService;
+import io.hhplus.tdd.point.service.OptimisticPointUpdater;
+import io.hhplus.tdd.point.service.PointBatchService;
+import io.hhplus.tdd.point.service.PointCommandExecutor;
+import io.hhplus.tdd.point.service.PointHistoryAppender;
+import io.hhplus.tdd.point.service.PointHoldService;
+import io.hhplus.tdd.point.service.PointReadExecutor;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.UseService;
+import io.hhplus.tdd.point.service.UserLockManager;
+import io.hhplus.tdd.point.shard.PointShardBatchService;
+import io.hhplus.tdd.point.shard.PointShardClient;
+import io.hhplus.tdd.point.shard.PointShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포인트 API 부하 테스트
+ * - N 개의 스레드가 정해진 시간 동안 충전/사용/조회 요청을 설정한 비율로 PointController 에 보낸다.
+ * - API 별 응답 시간을 HdrHistogram 으로 기록해서 p50/p99/p999 와 처리량을 출력한다.
+ * - 종료 후 유저별 잔고가 충전/사용 내역의 합계와 같은지 검증한다. (처리량을 위해 갱신이 유실되면 실패)
+ * 실행 : ./gradlew loadTest -Pload.threads=64 -Pload.durationSeconds=60 -Pload.users=20 -Pload.mix=charge:40,use:30,read:30
+ */
+@Tag("load")
+public class PointLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(PointLoadTest.class);
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final int threads = Integer.getInteger("load.threads", 16);                 // 요청 스레드 수
+    private final int durationSeconds = Integer.getInteger("load.durationSeconds", 30); // 부하 시간 (초)
+    private final int users = Integer.getInteger("load.users", 20);                     // 요청 대상 유저 수
+    private final Map<Endpoint, Integer> mix = parseMix(System.getProperty("load.mix", "charge:40,use:30,read:30"));
+
+    private UserPointTable userPointTable = new UserPointTable();
+    private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 10000, 8);
+    private UserPointCache userPointCache = new UserPointCache(10000, 0);
+    private UserPointRepository userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+    private PointService pointService = new PointService(userPointRepository, meterRegistry);
+    private UserLockManager userLockManager = new UserLockManager(meterRegistry);
+    private OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), false, meterRegistry);
+    private PointHoldRepository pointHoldRepository = new PointHoldRepository();
+    private ChargeService chargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater);
+    private UseService useService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater, pointHoldRepository);
+    private HistoryService historyService = new HistoryService(pointHistoryRepository, historySummaryRepository, meterRegistry);
+    private HistoryExportService historyExportService = new HistoryExportService(pointHistoryRepository, new ObjectMapper(), 500);
+    private PointCommandExecutor pointCommandExecutor = new PointCommandExecutor(chargeService, useService, pointThreadFactories, 64);
+    private PointBatchService pointBatchService = new PointBatchService(chargeService, useService, pointCommandExecutor, 10000, meterRegistry);
+    private PointReadExecutor pointReadExecutor = new PointReadExecutor(pointThreadFactories, true, 32, 1000);
+    private PointHoldService pointHoldService = new PointHoldService(pointHoldRepository, useService, 600_000L);
+    private PointShardRouter pointShardRouter = new PointShardRouter(false, "", List.of(), 160, "redirect", meterRegistry);
+    private PointShardBatchService pointShardBatchService = new PointShardBatchService(pointShardRouter,
+            new PointShardClient(new ObjectMapper(), "", 5000), pointBatchService);
+    private PointController pointController = new PointController(pointService, historyService, historyExportService,
+            pointCommandExecutor, pointShardBatchService, pointReadExecutor, pointHoldService);
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointReadExecutor.shutdown();
+        pointCommandExecutor.shutdown();
+        pointHistoryAppender.shutdown();
+    }
+
+    @Test
+    public void chargeUseReadMix() throws InterruptedException {
+        //given
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        logger.info("부하 테스트 시작 스레드 [{}] 시간 [{}s] 유저 [{}] 비율 {}", threads, durationSeconds, users, mix);
+
+        //when
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = nextEndpoint();
+                    call(endpoint, ThreadLocalRandom.current().nextLong(users) + 1, stats.get(endpoint));
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+
+        //then
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.get(endpoint).report(endpoint, durationSeconds);
+        }
+        assertThat(pointHistoryAppender.flush(1, TimeUnit.MINUTES)).isTrue();
+        for (Endpoint endpoint : Endpoint.values()) {
+            assertThat(stats.get(endpoint).errors.sum()).as("%s 예상하지 못한 에러", endpoint).isZero();
+        }
+        for (long userId = 1; userId <= users; userId++) {
+            assertThat(userPointTable.selectById(userId).point())
+                    .as("유저 [%d] 잔고와 내역 합계", userId)
+                    .isEqualTo(foldHistory(pointHistoryTable.selectAllByUserId(userId)));
+        }
+    }
+
+    /**
+     * API 한 건 호출하고 응답 시간 기록
+     * - 포인트 부족(err-03) 같은 비즈니스 실패는 거절로 따로 센다.
+     */
+    private void call(Endpoint endpoint, long userId, EndpointStats endpointStats) {
+        long amount = (ThreadLocalRandom.current().nextLong(10) + 1) * 100;
+        long startedAt = System.nanoTime();
+        try {
+            switch (endpoint) {
+                case CHARGE -> pointController.charge(userId, amount).join();
+                case USE -> pointController.use(userId, amount).join();
+                case READ -> pointController.point(userId).join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TddCustomException) {
+                endpointStats.rejected.increment();
+            } else {
+                endpointStats.errors.increment();
+                logger.warn("{} 호출 실패", endpoint, e.getCause());
+            }
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+            endpointStats.histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        }
+    }
+
+    /**
+     * 설정한 비율에 따라 다음 호출할 API 선택
+     */
+    private Endpoint nextEndpoint() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return entry.getKey();
+        }
+        return Endpoint.READ;
+    }
+
+    /**
+     * 충전 합계 - 사용 합계
+     */
+    private static long foldHistory(List<PointHistory> histories) {
+        long balance = 0;
+        for (PointHistory history : histories) {
+            balance += (history.type() == TransactionType.CHARGE) ? history.amount() : -history.amount();
+        }
+        return balance;
+    }
+
+    /**
+     * "charge:40,use:30,read:30" 형식의 비율 파싱
+     */
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> parsed = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                parsed.put(Endpoint.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("load.mix 에 비율이 0보다 큰 API 가 하나 이상 있어야 합니다. [" + value + "]");
+        }
+        return parsed;
+    }
+
+    private enum Endpoint {
+        CHARGE, USE, READ
+    }
+
+    /**
+     * API 별 응답 시간(μs) 히스토그램과 결과 건수
+     */
+    private static class EndpointStats {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder rejected = new LongAdder();     // 비즈니스 실패 (TddCustomException)
+        private final LongAdder errors = new LongAdder();       // 예상하지 못한 실패
+
+        private void report(Endpoint endpoint, int durationSeconds) {
+            long count = histogram.getTotalCount();
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("[%s] 요청 %d건 (거절 %d건, 에러 %d건) 처리량 %.1f req/s",
+                    endpoint, count, rejected.sum(), errors.sum(), (double) count / durationSeconds));
+            lines.add(String.format("[%s] p50 %.1fms / p99 %.1fms / p999 %.1fms / max %.1fms", endpoint,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0));
+            lines.forEach(logger::info);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재시작 후에도 유지되는 유저 잔고 저장 공간 테스트
+ */
+public class DurableBalanceStoreTest {
+    private static final Logger logger = LoggerFactory.getLogger(DurableBalanceStoreTest.class);
+
+    private PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
+
+    @TempDir
+    Path directory;
+
+    private DurableBalanceStore open() throws IOException {
+        return new DurableBalanceStore(new LongBalanceStore(16), directory, pointThreadFactories.create("test-balance-wal-"), 0);
+    }
+
+    /**
+     * 스냅샷 없이 로그만 있어도 재시작 후 마지막 잔고로 복구된다.
+     */
+    @Test
+    public void recoverFromWal() throws IOException {
+        //given
+        DurableBalanceStore before = open();
+        before.save(1L, 1000L, 1L);
+        before.save(2L, 500L, 2L);
+        before.save(1L, 3000L, 3L);
+        before.close();
+
+        //when
+        DurableBalanceStore after = open();
+
+        //then
+        assertThat(after.findById(1L)).isEqualTo(new UserPoint(1L, 3000L, 3L));
+        assertThat(after.findById(2L)).isEqualTo(new UserPoint(2L, 500L, 2L));
+        assertThat(after.size()).isEqualTo(2);
+        after.close();
+    }
+
+    /**
+     * 스냅샷 이후에는 스냅샷과 이후의 로그만 남고, 재시작 시 둘을 합쳐 복구한다.
+     */
+    @Test
+    public void recoverFromSnapshotAndWalTail() throws IOException {
+        //given
+        DurableBalanceStore before = open();
+        for (long userId = 1; userId <= 100; userId++) {
+            before.save(userId, userId * 100, userId);
+        }
+        before.snapshot();
+        before.save(1L, 7777L, 200L);
+        before.save(101L, 1L, 201L);
+        before.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            logger.info("스냅샷/로그 파일 {}", files.map(path -> path.getFileName().toString()).toList());
+        }
+
+        //when
+        DurableBalanceStore after = open();
+
+        //then
+        assertThat(after.size()).isEqualTo(101);
+        assertThat(after.findById(1L).point()).isEqualTo(7777L);
+        assertThat(after.findById(50L).point()).isEqualTo(5000L);
+        assertThat(after.findById(101L).point()).isEqualTo(1L);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.filter(path -> path.getFileName().toString().startsWith("snapshot-")).count()).isEqualTo(1L);
+        }
+        after.close();
+    }
+
+    /**
+     * 마지막 레코드가 완전히 기록되지 않았으면 그 이전까지만 복구한다.
+     */
+    @Test
+    public void ignoreTornTail() throws IOException {
+        //given
+        DurableBalanceStore before = open();
+        before.save(1L, 1000L, 1L);
+        before.close();
+        Path wal;
+        try (Stream<Path> files = Files.list(directory)) {
+            wal = files.filter(path -> path.getFileName().toString().startsWith("wal-")).sorted().findFirst().orElseThrow();
+        }
+        Files.write(wal, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, StandardOpenOption.APPEND);
+
+        //when
+        DurableBalanceStore after = open();
+
+        //then
+        assertThat(after.findById(1L).point()).isEqualTo(1000L);
+        assertThat(after.size()).isEqualTo(1);
+        after.close();
+    }
+
+    /**
+     * 여러 스레드가 동시에 저장해도 모든 잔고가 로그에 남는다. (그룹 커밋)
+     */
+    @Test
+    public void concurrentSaveIsDurable() throws IOException, InterruptedException {
+        //given
+        DurableBalanceStore before = open();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        for (long userId = 1; userId <= 200; userId++) {
+            long id = userId;
+            executor.execute(() -> before.save(id, id, id));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        before.close();
+        DurableBalanceStore after = open();
+
+        //then
+        assertThat(after.size()).isEqualTo(200);
+        assertThat(after.findById(200L).point()).isEqualTo(200L);
+        after.close();
+    }
+}
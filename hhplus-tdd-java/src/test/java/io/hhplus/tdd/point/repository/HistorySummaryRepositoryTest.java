@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistorySummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 유저별 포인트 내역 요약 저장소 테스트
+ */
+public class HistorySummaryRepositoryTest {
+    private static final Logger logger = LoggerFactory.getLogger(HistorySummaryRepositoryTest.class);
+
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), new SimpleMeterRegistry());
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 3);
+
+    /**
+     * 충전/사용 합계와 횟수, 첫/마지막 시각을 누적한다.
+     * 최근 내역은 최대 3건만 최신순으로 남는다.
+     */
+    @Test
+    public void recordSummary() {
+        //given
+        long userId = 1L;
+
+        //when
+        historySummaryRepository.record(new PointHistory(1L, userId, 1000L, CHARGE, 100L));
+        historySummaryRepository.record(new PointHistory(2L, userId, 300L, USE, 200L));
+        historySummaryRepository.record(new PointHistory(3L, userId, 2000L, CHARGE, 300L));
+        historySummaryRepository.record(new PointHistory(4L, userId, 500L, USE, 400L));
+        PointHistorySummary summary = historySummaryRepository.findByUserId(userId);
+        logger.info("내역 요약 {}", summary);
+
+        //then
+        assertThat(summary.totalCharged()).isEqualTo(3000L);
+        assertThat(summary.totalUsed()).isEqualTo(800L);
+        assertThat(summary.count()).isEqualTo(4L);
+        assertThat(summary.firstActivityMillis()).isEqualTo(100L);
+        assertThat(summary.lastActivityMillis()).isEqualTo(400L);
+        assertThat(summary.recentActivities())
+                .extracting("amount")
+                .containsExactly(500L, 2000L, 300L);
+        assertThat(summary.recentActivities())
+                .extracting("id")
+                .containsExactly(4L, 3L, 2L);
+    }
+
+    /**
+     * 내역이 없는 유저는 빈 요약을 조회하고, 응답에는 첫/마지막 시각이 없다.
+     */
+    @Test
+    public void emptySummary() {
+        //when
+        PointHistorySummary summary = historySummaryRepository.findByUserId(99L);
+
+        //then
+        assertThat(summary.count()).isZero();
+        assertThat(summary.recentActivities()).isEmpty();
+        assertThat(summary.toDto().getFirstActivityMillis()).isNull();
+    }
+
+    /**
+     * 재시작 - 요약이 없는 유저는 저장된 포인트 내역으로 요약을 다시 만든다.
+     * 이미 읽은 내역이 다시 반영되어도 중복으로 세지 않는다.
+     */
+    @Test
+    public void rebuildFromStoredHistory() {
+        //given
+        long userId = 2L;
+        pointHistoryRepository.insert(userId, 1000L, CHARGE, 100L);
+        PointHistory use = pointHistoryRepository.insert(userId, 400L, USE, 200L);
+        HistorySummaryRepository restarted = new HistorySummaryRepository(pointHistoryRepository, 3);
+
+        //when
+        PointHistorySummary rebuilt = restarted.findByUserId(userId);
+        restarted.record(use);
+        restarted.record(pointHistoryRepository.insert(userId, 50L, USE, 300L));
+        PointHistorySummary summary = restarted.findByUserId(userId);
+        logger.info("다시 만든 내역 요약 {} => {}", rebuilt, summary);
+
+        //then
+        assertThat(rebuilt.totalCharged()).isEqualTo(1000L);
+        assertThat(rebuilt.totalUsed()).isEqualTo(400L);
+        assertThat(rebuilt.count()).isEqualTo(2L);
+        assertThat(summary.totalUsed()).isEqualTo(450L);
+        assertThat(summary.count()).isEqualTo(3L);
+        assertThat(summary.recentActivities())
+                .extracting("amount")
+                .containsExactly(50L, 400L, 1000L);
+    }
+}
@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * long 배열 기반 유저 포인트 저장 공간 테스트
+ */
+public class LongBalanceStoreTest {
+    private static final Logger logger = LoggerFactory.getLogger(LongBalanceStoreTest.class);
+
+    private LongBalanceStore longBalanceStore = new LongBalanceStore(4);
+
+    /**
+     * 저장한 값을 조회하고, 같은 유저를 다시 저장하면 갱신된다.
+     */
+    @Test
+    public void saveAndFind() {
+        //when
+        longBalanceStore.save(1L, 1000L, 10L);
+        longBalanceStore.save(1L, 3000L, 20L);
+
+        //then
+        assertThat(longBalanceStore.findById(1L)).isEqualTo(new UserPoint(1L, 3000L, 20L));
+        assertThat(longBalanceStore.findById(2L)).isNull();
+        assertThat(longBalanceStore.size()).isEqualTo(1);
+    }
+
+    /**
+     * 빈 슬롯 표시로 사용하는 유저 id 0 과 음수 id 도 저장된다.
+     */
+    @Test
+    public void zeroAndNegativeUserId() {
+        //when
+        longBalanceStore.save(0L, 500L, 1L);
+        longBalanceStore.save(-1L, 700L, 2L);
+
+        //then
+        assertThat(longBalanceStore.findById(0L)).isEqualTo(new UserPoint(0L, 500L, 1L));
+        assertThat(longBalanceStore.findById(-1L)).isEqualTo(new UserPoint(-1L, 700L, 2L));
+        assertThat(longBalanceStore.size()).isEqualTo(2);
+    }
+
+    /**
+     * 예상 유저 수보다 많이 저장하면 배열을 늘리고, 기존 값은 그대로 조회된다.
+     */
+    @Test
+    public void resize() {
+        //given
+        long before = longBalanceStore.allocatedBytes();
+
+        //when
+        for (long userId = 1; userId <= 10_000; userId++) {
+            longBalanceStore.save(userId, userId * 10, userId);
+        }
+        logger.info("유저 [{}]명 배열 크기 [{}] -> [{}] bytes", longBalanceStore.size(), before, longBalanceStore.allocatedBytes());
+
+        //then
+        assertThat(longBalanceStore.size()).isEqualTo(10_000);
+        assertThat(longBalanceStore.allocatedBytes()).isGreaterThan(before);
+        for (long userId = 1; userId <= 10_000; userId++) {
+            assertThat(longBalanceStore.findById(userId).point()).isEqualTo(userId * 10);
+        }
+    }
+
+    /**
+     * 유저당 메모리 - 슬롯(24 bytes) 수가 2의 거듭제곱이고 부하율 0.8 을 넘으면 두 배로 늘리므로 유저당 30 ~ 60 bytes 를 쓴다.
+     * 예상 유저 100만 명을 채우면 슬롯 2^21 개(48MB), 유저당 약 50 bytes 다.
+     */
+    @Test
+    public void bytesPerUser() {
+        //given
+        int expectedUsers = 1_000_000;
+        LongBalanceStore sized = new LongBalanceStore(expectedUsers);
+        LongBalanceStore growing = new LongBalanceStore(16);
+        int firstThreshold = (int) (32 * 0.8);     // 예상 유저 16명 => 슬롯 32개
+
+        //when
+        for (long userId = 1; userId <= expectedUsers; userId++) {
+            sized.save(userId, 0L, 0L);
+        }
+        double minBytesPerUser = Double.MAX_VALUE;
+        double maxBytesPerUser = 0;
+        for (long userId = 1; userId <= 300_000; userId++) {
+            growing.save(userId, 0L, 0L);
+            if (userId > firstThreshold) {
+                double bytesPerUser = (double) growing.allocatedBytes() / growing.size();
+                minBytesPerUser = Math.min(minBytesPerUser, bytesPerUser);
+                maxBytesPerUser = Math.max(maxBytesPerUser, bytesPerUser);
+            }
+        }
+        double sizedBytesPerUser = (double) sized.allocatedBytes() / sized.size();
+        logger.info("예상 유저 [{}]명 배열 [{}] bytes (유저당 [{}] bytes), 늘어나는 배열 유저당 [{}] ~ [{}] bytes",
+                expectedUsers, sized.allocatedBytes(), sizedBytesPerUser, minBytesPerUser, maxBytesPerUser);
+
+        //then
+        assertThat(sized.allocatedBytes()).isEqualTo((1L << 21) * 24);
+        assertThat(sizedBytesPerUser).isBetween(30.0, 60.0);
+        assertThat(minBytesPerUser).isGreaterThanOrEqualTo(30.0);
+        assertThat(maxBytesPerUser).isLessThanOrEqualTo(60.0);
+    }
+
+    /**
+     * 배열을 늘리는 도중에 조회해도 저장된 값이 누락되지 않는다.
+     */
+    @Test
+    public void concurrentReadDuringResize() throws InterruptedException {
+        //given
+        longBalanceStore.save(1L, 1000L, 1L);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger missed = new AtomicInteger();
+
+        //when
+        executor.execute(() -> {
+            for (long userId = 2; userId <= 100_000; userId++) {
+                longBalanceStore.save(userId, userId, userId);
+            }
+        });
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> {
+                for (int read = 0; read < 100_000; read++) {
+                    UserPoint userPoint = longBalanceStore.findById(1L);
+                    if (userPoint == null || userPoint.point() != 1000L) {
+                        missed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //then
+        assertThat(missed.get()).isZero();
+        assertThat(longBalanceStore.size()).isEqualTo(100_000);
+    }
+}
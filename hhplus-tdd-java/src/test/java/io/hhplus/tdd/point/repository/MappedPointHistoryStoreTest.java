@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메모리 매핑 파일 포인트 내역 로그 테스트
+ * - 세그먼트 하나에 레코드 4개씩 저장해서 여러 세그먼트에 걸친 경우를 확인한다.
+ */
+public class MappedPointHistoryStoreTest {
+    private static final Logger logger = LoggerFactory.getLogger(MappedPointHistoryStoreTest.class);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 유저 1, 2의 내역을 번갈아 추가하면 유저별로 id 순서대로 조회된다.
+     */
+    @Test
+    public void findAllByUserId() throws IOException {
+        //given
+        MappedPointHistoryStore store = new MappedPointHistoryStore(directory, 4);
+        for (int i = 1; i <= 5; i++) {
+            store.insert(1L, i * 1000L, CHARGE, i);
+            store.insert(2L, i * 100L, USE, i);
+        }
+
+        //when
+        List<PointHistory> histories = store.findAllByUserId(1L);
+
+        //then
+        assertThat(histories)
+                .extracting("amount")
+                .containsExactly(1000L, 2000L, 3000L, 4000L, 5000L);
+        assertThat(histories)
+                .extracting("id")
+                .containsExactly(1L, 3L, 5L, 7L, 9L);
+        assertThat(store.findAllByUserId(3L)).isEmpty();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(3L);
+        }
+    }
+
+    /**
+     * cursor 이후의 내역 중 조건에 맞는 내역만 limit 개 조회하고, 방문자는 같은 내역을 필드로 전달받는다.
+     */
+    @Test
+    public void findAllByUserIdAfter() throws IOException {
+        //given
+        MappedPointHistoryStore store = new MappedPointHistoryStore(directory, 4);
+        for (int i = 1; i <= 6; i++) {
+            store.insert(1L, i * 1000L, (i % 2 == 0 ? USE : CHARGE), i);
+        }
+
+        //when
+        List<PointHistory> page = store.findAllByUserIdAfter(1L, 2L, 2, history -> history.type() == CHARGE);
+        List<Long> visited = new ArrayList<>();
+        int count = store.forEachByUserIdAfter(1L, 4L, 10, (id, userId, amount, type, updateMillis) -> visited.add(amount));
+
+        //then
+        assertThat(page)
+                .extracting("id")
+                .containsExactly(3L, 5L);
+        assertThat(count).isEqualTo(2);
+        assertThat(visited).containsExactly(5000L, 6000L);
+    }
+
+    /**
+     * 기간 조회 - 기본 저장 공간과 같은 순서(시각, id)와 cursor 규칙으로 조회하고, 재시작 후에도 같은 순서로 조회한다.
+     */
+    @Test
+    public void findAllByUserIdBetween() throws IOException {
+        //given
+        MappedPointHistoryStore store = new MappedPointHistoryStore(directory, 4);
+        store.insert(1L, 100L, CHARGE, 1_000L);
+        store.insert(1L, 200L, CHARGE, 3_000L);
+        store.insert(1L, 300L, USE, 2_000L);
+        store.insert(1L, 400L, CHARGE, 4_000L);
+
+        //when
+        List<PointHistory> first = store.findAllByUserIdBetween(1L, 2_000L, 5_000L, 0L, 2, history -> true);
+        List<PointHistory> second = store.findAllByUserIdBetween(1L, 2_000L, 5_000L, first.get(1).id(), 2, history -> true);
+        store.close();
+        List<PointHistory> recovered = new MappedPointHistoryStore(directory, 4).findAllByUserIdBetween(1L, 0L, 5_000L, 0L, 10, history -> true);
+
+        //then
+        assertThat(first)
+                .extracting("amount")
+                .containsExactly(300L, 200L);
+        assertThat(second)
+                .extracting("amount")
+                .containsExactly(400L);
+        assertThat(recovered)
+                .extracting("amount")
+                .containsExactly(100L, 300L, 200L, 400L);
+    }
+
+    /**
+     * 재시작 - 세그먼트 파일에서 유저별 내역과 다음 id 를 복구한다.
+     */
+    @Test
+    public void recoverOnRestart() throws IOException {
+        //given
+        MappedPointHistoryStore before = new MappedPointHistoryStore(directory, 4);
+        for (int i = 1; i <= 6; i++) {
+            before.insert(i % 2 == 0 ? 2L : 1L, i * 1000L, CHARGE, i);
+        }
+        before.close();
+
+        //when
+        MappedPointHistoryStore after = new MappedPointHistoryStore(directory, 4);
+        PointHistory next = after.insert(1L, 7000L, USE, 7);
+        logger.info("복구 후 추가한 내역 {}", next);
+
+        //then
+        assertThat(after.size()).isEqualTo(7L);
+        assertThat(next.id()).isEqualTo(7L);
+        assertThat(after.findAllByUserId(1L))
+                .extracting("amount")
+                .containsExactly(1000L, 3000L, 5000L, 7000L);
+        assertThat(after.findAllByUserId(2L)).isEqualTo(before.findAllByUserId(2L));
+        assertThat(after.findAllByUserIdAfter(1L, 3L, 2, history -> true))
+                .extracting("id")
+                .containsExactly(5L, 7L);
+    }
+
+    /**
+     * 일부만 기록된 레코드 - checksum 이 맞지 않는 레코드부터는 복구하지 않고 지운다.
+     * 지운 자리에 새로 추가한 뒤 다시 시작해도 지운 레코드가 다시 보이지 않는다.
+     */
+    @Test
+    public void discardTornRecord() throws IOException {
+        //given
+        MappedPointHistoryStore before = new MappedPointHistoryStore(directory, 4);
+        for (int i = 1; i <= 6; i++) {
+            before.insert(1L, i * 1000L, CHARGE, i);
+        }
+        before.force();
+        //4번째 레코드(첫 세그먼트의 마지막 레코드)의 amount 1 byte 변경
+        try (FileChannel channel = FileChannel.open(directory.resolve("history-000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), 3L * MappedPointHistoryStore.RECORD_BYTES + 16);
+        }
+
+        //when
+        MappedPointHistoryStore recovered = new MappedPointHistoryStore(directory, 4);
+        long recoveredSize = recovered.size();
+        PointHistory next = recovered.insert(1L, 9000L, USE, 9);
+        recovered.close();
+        MappedPointHistoryStore reopened = new MappedPointHistoryStore(directory, 4);
+
+        //then
+        assertThat(recoveredSize).isEqualTo(3L);
+        assertThat(next.id()).isEqualTo(4L);
+        assertThat(reopened.size()).isEqualTo(4L);
+        assertThat(reopened.findAllByUserId(1L))
+                .extracting("amount")
+                .containsExactly(1000L, 2000L, 3000L, 9000L);
+    }
+}
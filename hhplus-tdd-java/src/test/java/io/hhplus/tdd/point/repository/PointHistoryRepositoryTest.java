@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포인트 내역 저장소 테스트
+ */
+public class PointHistoryRepositoryTest {
+    private static final Logger logger = LoggerFactory.getLogger(PointHistoryRepositoryTest.class);
+
+    private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+
+    /**
+     * 유저 1, 2의 내역을 번갈아 추가
+     */
+    @BeforeEach
+    public void setup() {
+        for (int i = 0; i < 3; i++) {
+            pointHistoryRepository.insert(1L, 1000L, CHARGE, System.currentTimeMillis());
+            pointHistoryRepository.insert(2L, 500L, USE, System.currentTimeMillis());
+        }
+        logger.info("충전/사용 내역 데이터 생성");
+    }
+
+    /**
+     * 유저 내역 조회 - 요청한 유저의 내역만 id 순서대로 조회된다.
+     */
+    @Test
+    public void findAllByUserId() {
+        //when
+        List<PointHistory> histories = pointHistoryRepository.findAllByUserId(1L);
+
+        //then
+        assertThat(histories).hasSize(3);
+        assertThat(histories)
+                .extracting("userId")
+                .containsOnly(1L);
+        assertThat(histories)
+                .extracting("id")
+                .isSorted();
+        //테이블에서 조회한 결과와 같다.
+        assertThat(histories).isEqualTo(pointHistoryTable.selectAllByUserId(1L));
+    }
+
+    /**
+     * 내역이 없는 유저 조회 - 빈 목록
+     */
+    @Test
+    public void findAllByUnknownUser() {
+        assertThat(pointHistoryRepository.findAllByUserId(99L)).isEmpty();
+    }
+
+    /**
+     * 기간 조회 - 시각 순서로 조회하고, 시각이 id 순서와 달라도 cursor 로 빠짐없이 이어서 조회한다.
+     */
+    @Test
+    public void findAllByUserIdBetween() {
+        //given
+        long userId = 3L;
+        pointHistoryRepository.insert(userId, 100L, CHARGE, 1_000L);
+        pointHistoryRepository.insert(userId, 200L, CHARGE, 3_000L);
+        pointHistoryRepository.insert(userId, 300L, USE, 2_000L);     //시각이 앞선 내역이 늦게 저장됨
+        pointHistoryRepository.insert(userId, 400L, CHARGE, 4_000L);
+        pointHistoryRepository.insert(userId, 500L, USE, 5_000L);
+
+        //when
+        List<PointHistory> first = pointHistoryRepository.findAllByUserIdBetween(userId, 2_000L, 5_000L, 0L, 2, history -> true);
+        List<PointHistory> second = pointHistoryRepository.findAllByUserIdBetween(userId, 2_000L, 5_000L, first.get(1).id(), 2, history -> true);
+        logger.info("기간 조회 {} / {}", first, second);
+
+        //then
+        //종료 시각(5000)의 내역은 포함하지 않는다.
+        assertThat(first)
+                .extracting("amount")
+                .containsExactly(300L, 200L);
+        assertThat(second)
+                .extracting("amount")
+                .containsExactly(400L);
+    }
+}
@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 유저 포인트 저장소 (캐시) 테스트
+ */
+public class UserPointRepositoryTest {
+    private static final Logger logger = LoggerFactory.getLogger(UserPointRepositoryTest.class);
+
+    private UserPointTable userPointTable = new UserPointTable();
+    private UserPointCache userPointCache = new UserPointCache(2, 0);
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserPointRepository userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+
+    /**
+     * 처음 조회는 DB 에서, 다음 조회는 캐시에서 조회한다.
+     */
+    @Test
+    public void readThrough() {
+        //given
+        userPointTable.insertOrUpdate(1L, 1000L);
+
+        //when
+        UserPoint first = userPointRepository.findById(1L);
+        UserPoint second = userPointRepository.findById(1L);
+        UserPointCache.CacheStats stats = userPointCache.stats();
+        logger.info("캐시 통계 {} / 적중률 [{}]", stats, stats.hitRatio());
+
+        //then
+        assertThat(second).isEqualTo(first);
+        assertThat(stats.hits()).isEqualTo(1L);
+        assertThat(stats.misses()).isEqualTo(1L);
+    }
+
+    /**
+     * 저장하면 캐시도 같은 값으로 갱신된다.
+     */
+    @Test
+    public void writeThrough() {
+        //given
+        userPointRepository.findById(1L);
+
+        //when
+        UserPoint saved = userPointRepository.save(1L, 5000L);
+
+        //then
+        assertThat(userPointCache.get(1L)).isEqualTo(saved);
+        assertThat(userPointRepository.findById(1L).point()).isEqualTo(5000L);
+    }
+
+    /**
+     * 조회 도중 저장된 값이 있으면 오래된 조회 결과로 캐시를 덮어쓰지 않는다.
+     */
+    @Test
+    public void staleReadIsNotCached() {
+        //given
+        long writeStamp = userPointCache.writeStamp(1L);
+        UserPoint stale = userPointTable.selectById(1L);
+
+        //when
+        UserPoint saved = userPointRepository.save(1L, 3000L);
+        userPointCache.putIfUnchanged(stale, writeStamp);
+
+        //then
+        assertThat(userPointCache.get(1L)).isEqualTo(saved);
+    }
+
+    /**
+     * 최대 개수를 넘으면 가장 오래 사용하지 않은 유저부터 제거된다.
+     */
+    @Test
+    public void evictLeastRecentlyUsed() {
+        //given
+        userPointRepository.save(1L, 100L);
+        userPointRepository.save(2L, 200L);
+        userPointCache.get(1L);
+
+        //when
+        userPointRepository.save(3L, 300L);
+
+        //then
+        assertThat(userPointCache.get(2L)).isNull();
+        assertThat(userPointCache.get(1L)).isNotNull();
+        assertThat(userPointCache.stats().evictions()).isEqualTo(1L);
+    }
+
+    /**
+     * 구간을 나눈 캐시도 전체 최대 개수를 넘지 않고, 최근에 저장한 유저는 남아있다.
+     */
+    @Test
+    public void evictPerSegment() {
+        //given
+        UserPointCache segmented = new UserPointCache(1000, 0);
+
+        //when
+        for (long userId = 1; userId <= 5000; userId++) {
+            segmented.put(new UserPoint(userId, userId, System.currentTimeMillis()));
+        }
+
+        //then
+        assertThat(segmented.stats().size()).isEqualTo(1000);
+        assertThat(segmented.stats().evictions()).isEqualTo(4000L);
+        assertThat(segmented.get(5000L)).isNotNull();
+        assertThat(segmented.get(1L)).isNull();
+    }
+
+    /**
+     * 캐시에 없는 조회와 저장만 테이블 호출 시간이 기록된다.
+     */
+    @Test
+    public void tableCallsAreTimed() {
+        //when
+        userPointRepository.findById(1L);
+        userPointRepository.findById(1L);
+        userPointRepository.save(1L, 1000L);
+
+        //then
+        assertThat(meterRegistry.get("point.table.calls").tag("operation", "selectById").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("point.table.calls").tag("operation", "insertOrUpdate").timer().count()).isEqualTo(1L);
+    }
+}
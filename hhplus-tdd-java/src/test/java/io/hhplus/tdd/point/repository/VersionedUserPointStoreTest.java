@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore.VersionedPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 버전이 있는 유저 포인트 저장소 테스트
+ */
+public class VersionedUserPointStoreTest {
+    private static final Logger logger = LoggerFactory.getLogger(VersionedUserPointStoreTest.class);
+
+    private UserPointTable userPointTable = new UserPointTable();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserPointRepository userPointRepository = new UserPointRepository(userPointTable, new UserPointCache(1000, 0), meterRegistry);
+    private VersionedUserPointStore versionedUserPointStore = new VersionedUserPointStore(userPointRepository);
+
+    /**
+     * 처음 조회는 테이블 값을 버전 0 으로 읽고, 갱신하면 버전이 올라가고 테이블에도 저장된다.
+     */
+    @Test
+    public void compareAndSet() {
+        //given
+        userPointTable.insertOrUpdate(1L, 1000L);
+        VersionedPoint current = versionedUserPointStore.find(1L);
+
+        //when
+        VersionedPoint updated = versionedUserPointStore.compareAndSet(current, 1500L);
+        logger.info("갱신 결과 {}", updated);
+
+        //then
+        assertThat(current.version()).isZero();
+        assertThat(updated.version()).isEqualTo(1L);
+        assertThat(versionedUserPointStore.find(1L)).isEqualTo(updated);
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(1500L);
+    }
+
+    /**
+     * 조회한 뒤 다른 갱신이 있었으면 실패하고 값을 바꾸지 않는다.
+     */
+    @Test
+    public void conflict() {
+        //given
+        VersionedPoint stale = versionedUserPointStore.find(2L);
+        versionedUserPointStore.compareAndSet(stale, 700L);
+
+        //when
+        VersionedPoint result = versionedUserPointStore.compareAndSet(stale, 300L);
+
+        //then
+        assertThat(result).isNull();
+        assertThat(versionedUserPointStore.find(2L).userPoint().point()).isEqualTo(700L);
+        assertThat(userPointTable.selectById(2L).point()).isEqualTo(700L);
+    }
+
+    /**
+     * 여러 스레드가 동시에 갱신해도 모든 갱신이 반영되고, 저장은 최신 값으로 묶여서 갱신 수보다 적게 호출된다.
+     */
+    @Test
+    public void writeThroughLatestWins() throws InterruptedException {
+        //given
+        int updates = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(updates);
+
+        //when
+        for (int i = 0; i < updates; i++) {
+            executor.execute(() -> {
+                try {
+                    while (true) {
+                        VersionedPoint current = versionedUserPointStore.find(3L);
+                        if (versionedUserPointStore.compareAndSet(current, current.userPoint().point() + 10) != null) break;
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+        double saves = meterRegistry.get("point.table.calls").tag("operation", "insertOrUpdate").timer().count();
+        logger.info("갱신 [{}]회 / 테이블 저장 [{}]회", updates, saves);
+
+        //then
+        assertThat(versionedUserPointStore.find(3L).version()).isEqualTo(updates);
+        assertThat(userPointTable.selectById(3L).point()).isEqualTo(updates * 10L);
+        assertThat(saves).isLessThanOrEqualTo(updates);
+    }
+
+    /**
+     * 유휴 시간이 지난 유저는 제거되고, 제거 전에 조회한 값으로는 갱신할 수 없다.
+     * 다음 조회는 테이블에 저장된 값으로 다시 시작한다.
+     */
+    @Test
+    public void evictIdle() throws InterruptedException {
+        //given
+        VersionedUserPointStore idleStore = new VersionedUserPointStore(userPointRepository, 1L);
+        VersionedPoint updated = idleStore.compareAndSet(idleStore.find(4L), 900L);
+        Thread.sleep(5);
+
+        //when
+        idleStore.evictIdle();
+
+        //then
+        assertThat(idleStore.size()).isZero();
+        assertThat(idleStore.compareAndSet(updated, 100L)).isNull();
+        assertThat(idleStore.find(4L).userPoint().point()).isEqualTo(900L);
+    }
+}
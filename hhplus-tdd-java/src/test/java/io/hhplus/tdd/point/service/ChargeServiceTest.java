@@ -1,11 +1,19 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.config.PointThreadFactories;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.TddCustomException;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -29,9 +37,18 @@ public class ChargeServiceTest {
     private static final Logger logger = LoggerFactory.getLogger(ChargeServiceTest.class);
 
     private final UserPointTable userPointTable = new UserPointTable();
+    private final PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
     private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
-    private final PointService pointService = new PointService(userPointTable);
-    private final ChargeService chargeService = new ChargeService(userPointTable, pointHistoryTable, pointService);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private final HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private final PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 1000, 2);
+    private final UserPointCache userPointCache = new UserPointCache(1000, 0);
+    private final UserPointRepository userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+    private final PointService pointService = new PointService(userPointRepository, meterRegistry);
+    private final UserLockManager userLockManager = new UserLockManager(meterRegistry);
+    private final OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), false, meterRegistry);
+    private final ChargeService chargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater);
 
     /**
      * DB 유저 더미 데이터 생성
@@ -1,9 +1,18 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.config.PointThreadFactories;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +24,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * 포인트 충전, 사용 서비스 테스트
@@ -24,10 +34,20 @@ public class ChargeUsePointerTest {
     private static final Logger logger = LoggerFactory.getLogger(ChargeUsePointerTest.class);
 
     private UserPointTable userPointTable = new UserPointTable();
+    private PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
     private PointHistoryTable pointHistoryTable = new PointHistoryTable();
-    private PointService pointService = new PointService(userPointTable);
-    private ChargeService chargeService = new ChargeService(userPointTable, pointHistoryTable, pointService);
-    private UseService useService = new UseService(userPointTable, pointHistoryTable, pointService);
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 1000, 2);
+    private UserPointCache userPointCache = new UserPointCache(1000, 0);
+    private UserPointRepository userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+    private PointService pointService = new PointService(userPointRepository, meterRegistry);
+    private UserLockManager userLockManager = new UserLockManager(meterRegistry);
+    private OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), false, meterRegistry);
+    private PointHoldRepository pointHoldRepository = new PointHoldRepository();
+    private ChargeService chargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater);
+    private UseService useService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater, pointHoldRepository);
 
     /**
      * 포인트 충전과 사용 요청 통합 테스트
@@ -72,4 +92,91 @@ public class ChargeUsePointerTest {
 
         assertThat(startThreadList).isEqualTo(finishedThreadList);
     }
+
+    /**
+     * 같은 유저에게 충전과 사용 요청이 동시에 들어오는 경우, 유저 락으로 갱신 손실이 없어야 한다.
+     */
+    @Test
+    public void chargeAndUseLostUpdateTest() throws InterruptedException {
+        long userId = 2L;
+        int core = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(core);
+        CountDownLatch latch = new CountDownLatch(core);
+
+        chargeService.chargeUserPoint(userId, 10000L);  //포인트 부족 예외 방지
+
+        for (int i = 0; i < core; i++) {
+            boolean isUse = i % 2 == 0;
+            executor.submit(() -> {
+                try {
+                    if (isUse) {
+                        useService.useUserPoint(userId, 1000L);
+                    } else {
+                        chargeService.chargeUserPoint(userId, 2000L);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        //10000 + (5 * 2000) - (5 * 1000)
+        assertThat(pointService.selectPointByUserId(userId).getPoint()).isEqualTo(15000L);
+    }
+
+    /**
+     * 낙관적 모드 - 유저 락 없이 충전과 사용이 동시에 들어와도 버전 비교 재시도로 갱신 손실이 없어야 한다.
+     */
+    @Test
+    public void optimisticChargeAndUseLostUpdateTest() throws InterruptedException {
+        //given
+        OptimisticPointUpdater optimistic = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), "optimistic", 100, 50, 5_000, meterRegistry);
+        ChargeService optimisticChargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimistic);
+        UseService optimisticUseService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimistic, pointHoldRepository);
+        long userId = 3L;
+        int core = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(core);
+        CountDownLatch latch = new CountDownLatch(core);
+        optimisticChargeService.chargeUserPoint(userId, 10000L);  //포인트 부족 예외 방지
+
+        //when
+        for (int i = 0; i < core; i++) {
+            boolean isUse = i % 2 == 0;
+            executor.submit(() -> {
+                try {
+                    if (isUse) {
+                        optimisticUseService.useUserPoint(userId, 1000L);
+                    } else {
+                        optimisticChargeService.chargeUserPoint(userId, 2000L);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+        logger.info("버전 충돌 [{}]회", meterRegistry.get("point.optimistic.conflicts").counter().count());
+
+        //then
+        //10000 + (5 * 2000) - (5 * 1000), 유저 락은 한 번도 사용하지 않는다.
+        assertThat(pointService.selectPointByUserId(userId).getPoint()).isEqualTo(15000L);
+        assertThat(meterRegistry.get("point.lock.wait").timers()).allMatch(timer -> timer.count() == 0);
+    }
+
+    /**
+     * 낙관적 모드와 묶음 처리를 함께 켜면 시작할 때 실패한다.
+     */
+    @Test
+    public void optimisticWithGroupCommitFailsFast() {
+        //when
+        Throwable exception = assertThrows(IllegalStateException.class, () ->
+                new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), "optimistic", 10, 50, 5_000, true, meterRegistry));
+
+        //then
+        logger.info(exception.getMessage());
+        assertThat(exception.getMessage()).contains("group-commit");
+    }
 }
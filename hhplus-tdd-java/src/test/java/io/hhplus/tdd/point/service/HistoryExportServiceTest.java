@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포인트 충전/사용 내역 내보내기 테스트
+ */
+public class HistoryExportServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryExportServiceTest.class);
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+    private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistoryExportService historyExportService = new HistoryExportService(pointHistoryRepository, objectMapper, 2);
+
+    /**
+     * 유저 1의 내역 5건, 유저 2의 내역 1건 생성
+     */
+    @BeforeEach
+    public void setup() {
+        for (int i = 1; i <= 5; i++) {
+            pointHistoryRepository.insert(1L, i * 1000L, (i % 2 == 0 ? USE : CHARGE), System.currentTimeMillis());
+        }
+        pointHistoryRepository.insert(2L, 1000L, CHARGE, System.currentTimeMillis());
+    }
+
+    /**
+     * 내보내기 - chunk 크기(2)와 상관없이 요청한 유저의 모든 내역을 한 줄에 하나씩 쓴다.
+     */
+    @Test
+    public void exportPointHistory() throws IOException {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        long exported = historyExportService.exportPointHistory(1L, outputStream);
+        String body = outputStream.toString(StandardCharsets.UTF_8);
+        logger.info("내보낸 내역\n{}", body);
+
+        //then
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(exported).isEqualTo(5L);
+        assertThat(lines).hasSize(5);
+        assertThat(lines).allMatch(line -> line.get("userId").asLong() == 1L);
+        assertThat(lines.get(0).get("amount").asLong()).isEqualTo(1000L);
+        assertThat(lines.get(4).get("amount").asLong()).isEqualTo(5000L);
+    }
+
+    /**
+     * 필드 이름 - 내보내기는 내역 조회(/histories)와 같은 필드 이름으로 쓴다.
+     */
+    @Test
+    public void exportFieldNames() throws IOException {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        historyExportService.exportPointHistory(2L, outputStream);
+        JsonNode line = objectMapper.readTree(outputStream.toString(StandardCharsets.UTF_8).trim());
+
+        //then
+        List<String> names = new ArrayList<>();
+        line.fieldNames().forEachRemaining(names::add);
+        assertThat(names).containsExactly("id", "userId", "amount", "type", "updateMilli");
+        assertThat(line.get("updateMilli").asLong()).isPositive();
+    }
+}
@@ -1,13 +1,23 @@
 package io.hhplus.tdd.point.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.dto.PointHistoryDto;
+import io.hhplus.tdd.point.dto.PointHistoryPageDto;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -24,6 +34,10 @@ public class HistoryServiceTest {
     private static final Logger logger = LoggerFactory.getLogger(HistoryServiceTest.class);
 
     private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private HistoryService historyService = new HistoryService(pointHistoryRepository, historySummaryRepository, meterRegistry);
 
     private static final long user1Id = 1L;
     private static final long user2Id = 2L;
@@ -52,7 +66,7 @@ public class HistoryServiceTest {
         for (int i = 0; i < 10; i++) {
             randomPoint = (long)(Math.random() * 10001);
             randomType = (long)(Math.random() * 2);
-            pointHistoryTable.insert(userId, randomPoint, (randomType == 1 ? TransactionType.CHARGE : USE), System.currentTimeMillis());
+            pointHistoryRepository.insert(userId, randomPoint, (randomType == 1 ? TransactionType.CHARGE : USE), System.currentTimeMillis());
         }
     }
 
@@ -140,6 +154,72 @@ public class HistoryServiceTest {
         logger.info("포인트 사용 내역 조회 성공");
     }
 
+    /**
+     * 포인트 내역 페이지 조회 - cursor 로 다음 페이지를 이어서 조회하면 전체 내역을 한 번씩 조회한다.
+     */
+    @Test
+    public void selectPointHistoryPage() {
+        //given
+        long userId = user1Id;
+        int limit = 4;
+
+        //when
+        PointHistoryPageDto first = historyService.selectPointHistoryPage(userId, null, limit, null, null, null);
+        PointHistoryPageDto second = historyService.selectPointHistoryPage(userId, first.getNextCursor(), limit, null, null, null);
+        PointHistoryPageDto last = historyService.selectPointHistoryPage(userId, second.getNextCursor(), limit, null, null, null);
+        logger.info("다음 페이지 cursor [{}] [{}] [{}]", first.getNextCursor(), second.getNextCursor(), last.getNextCursor());
+
+        //then
+        //유저 1의 내역 10건을 4, 4, 2건으로 나눠서 조회하고, 마지막 페이지는 다음 cursor 가 없다.
+        assertThat(first.getHistories()).hasSize(4);
+        assertThat(second.getHistories()).hasSize(4);
+        assertThat(last.getHistories()).hasSize(2);
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(second.getNextCursor()).isGreaterThan(first.getNextCursor());
+    }
+
+    /**
+     * 포인트 내역 페이지 조회 - 충전/사용 구분 조건
+     */
+    @Test
+    public void selectPointHistoryPageByType() {
+        //given
+        long userId = user1Id;
+        long chargeCount = selectPointChargeHistoryList(userId).size();
+
+        //when
+        PointHistoryPageDto page = historyService.selectPointHistoryPage(userId, null, 100, CHARGE, null, null);
+
+        //then
+        assertThat(page.getHistories()).hasSize((int) chargeCount);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    /**
+     * 포인트 내역 페이지 조회 - 기간 조건은 시각 순서로 기간 안의 내역만 조회한다.
+     */
+    @Test
+    public void selectPointHistoryPageByRange() {
+        //given
+        long userId = 4L;
+        for (int i = 1; i <= 10; i++) {
+            pointHistoryRepository.insert(userId, i * 100L, CHARGE, i * 1_000L);
+        }
+
+        //when
+        //4000 이상 8000 미만 => 4건을 3건, 1건으로 나눠서 조회
+        PointHistoryPageDto first = historyService.selectPointHistoryPage(userId, null, 3, null, 4_000L, 8_000L);
+        PointHistoryPageDto last = historyService.selectPointHistoryPage(userId, first.getNextCursor(), 3, null, 4_000L, 8_000L);
+        //시작 시각만 지정 => 9000, 10000
+        PointHistoryPageDto recent = historyService.selectPointHistoryPage(userId, null, 100, null, 9_000L, null);
+
+        //then
+        assertThat(first.getHistories()).hasSize(3);
+        assertThat(last.getHistories()).hasSize(1);
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(recent.getHistories()).hasSize(2);
+    }
+
     /**
      * 포인트 충전 내역 DB 조회
      * @param userId
@@ -164,4 +244,49 @@ public class HistoryServiceTest {
                 useHistory.userId() == userId && useHistory.type().equals(USE)
         ).toList();
     }
-}
\ No newline at end of file
+
+    /**
+     * 내역 조회 건수는 유저 id 태그 없이 조회 종류별로만 기록된다.
+     */
+    @Test
+    public void recordListSize() {
+        //when
+        historyService.selectPointHistory(user1Id);
+        historyService.selectPointHistoryPage(user2Id, null, 3, null, null, null);
+
+        //then
+        assertThat(meterRegistry.get("point.history.list.size").tag("query", "all").summary().totalAmount()).isEqualTo(10.0);
+        assertThat(meterRegistry.get("point.history.list.size").tag("query", "page").summary().totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("point.history.list.size").summaries()).hasSize(2);
+    }
+
+    /**
+     * 내역 직렬화 - PointHistorySerializer 는 PointHistoryDto 와 같은 필드 이름과 값으로 쓴다.
+     */
+    @Test
+    public void serializeHistory() throws JsonProcessingException {
+        //given
+        ObjectMapper objectMapper = new ObjectMapper();
+        PointHistory history = new PointHistory(7L, user1Id, 500L, USE, 1_000L);
+
+        //when
+        JsonNode direct = objectMapper.readTree(objectMapper.writeValueAsString(history));
+        JsonNode dto = objectMapper.readTree(objectMapper.writeValueAsString(history.toDto()));
+        PointHistoryDto mapped = history.toDto();
+
+        //then
+        assertThat(direct).isEqualTo(dto);
+        assertThat(fieldNames(direct)).containsExactly("id", "userId", "amount", "type", "updateMilli");
+        assertThat(direct.get("id").asLong()).isEqualTo(7L);
+        assertThat(direct.get("type").asText()).isEqualTo("USE");
+        assertThat(mapped.getUserId()).isEqualTo(user1Id);
+        assertThat(mapped.getAmount()).isEqualTo(500L);
+        assertThat(mapped.getUpdateMilli()).isEqualTo(1_000L);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.dto.PointCommandDto;
+import io.hhplus.tdd.point.dto.PointCommandResultDto;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포인트 충전/사용 일괄 처리 테스트
+ */
+public class PointBatchServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(PointBatchServiceTest.class);
+
+    private UserPointTable userPointTable = new UserPointTable();
+    private PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
+    private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 1000, 2);
+    private UserPointCache userPointCache = new UserPointCache(1000, 0);
+    private UserPointRepository userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+    private PointService pointService = new PointService(userPointRepository, meterRegistry);
+    private UserLockManager userLockManager = new UserLockManager(meterRegistry);
+    private OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), false, meterRegistry);
+    private PointHoldRepository pointHoldRepository = new PointHoldRepository();
+    private ChargeService chargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater);
+    private UseService useService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater, pointHoldRepository);
+    private PointCommandExecutor pointCommandExecutor = new PointCommandExecutor(chargeService, useService, pointThreadFactories, 4);
+    private PointBatchService pointBatchService = new PointBatchService(chargeService, useService, pointCommandExecutor, 100, meterRegistry);
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointCommandExecutor.shutdown();
+    }
+
+    /**
+     * 일괄 처리 - 유저별로 요청 순서대로 처리하고, 실패한 요청은 실패 결과로 돌려준다.
+     */
+    @Test
+    public void executeBatch() {
+        //given
+        List<PointCommandDto> commands = List.of(
+                new PointCommandDto(1L, CHARGE, 1000L),
+                new PointCommandDto(1L, USE, 5000L),      //포인트 부족
+                new PointCommandDto(2L, CHARGE, 500L),
+                new PointCommandDto(1L, USE, 300L)
+        );
+
+        //when
+        List<PointCommandResultDto> results = pointBatchService.executeBatch(commands).join();
+        logger.info("일괄 처리 결과 {}", results);
+
+        //then
+        assertThat(results).extracting("index").containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting("success").containsExactly(true, false, true, true);
+        assertThat(results.get(1).getCode()).isEqualTo("err-03");
+        assertThat(results.get(2).getPoint()).isEqualTo(500L);
+        assertThat(results.get(3).getPoint()).isEqualTo(700L);
+    }
+}
@@ -0,0 +1,266 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.TddCustomException;
+import io.hhplus.tdd.exception.TddRejectedException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 유저별 포인트 충전/사용 명령 실행기 테스트
+ */
+public class PointCommandExecutorTest {
+    private static final Logger logger = LoggerFactory.getLogger(PointCommandExecutorTest.class);
+
+    private UserPointTable userPointTable = new UserPointTable();
+    private PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
+    private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 1000, 2);
+    private UserPointCache userPointCache = new UserPointCache(1000, 0);
+    private UserPointRepository userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+    private PointService pointService = new PointService(userPointRepository, meterRegistry);
+    private UserLockManager userLockManager = new UserLockManager(meterRegistry);
+    private OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), false, meterRegistry);
+    private PointHoldRepository pointHoldRepository = new PointHoldRepository();
+    private ChargeService chargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater);
+    private UseService useService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater, pointHoldRepository);
+    private PointCommandExecutor pointCommandExecutor = new PointCommandExecutor(chargeService, useService, pointThreadFactories, 4);
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointCommandExecutor.shutdown();
+    }
+
+    /**
+     * 같은 유저의 명령은 등록한 순서대로 처리된다.
+     */
+    @Test
+    public void sameUserCommandsInOrder() {
+        //given
+        long userId = 1L;
+        List<CompletableFuture<UserPointDto>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            results.add(pointCommandExecutor.charge(userId, 1000L));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+
+        //then
+        //충전 결과는 등록 순서대로 1000씩 누적된다.
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join().getPoint()).isEqualTo(1000L * (i + 1));
+        }
+        logger.info("처리 대기 중인 메일박스 수 [{}]", pointCommandExecutor.activeMailboxCount());
+    }
+
+    /**
+     * 포인트가 부족한 사용 명령은 실패하고 이후 명령은 계속 처리된다.
+     */
+    @Test
+    public void failedCommandDoesNotBlockMailbox() {
+        //given
+        long userId = 2L;
+
+        //when
+        CompletableFuture<UserPointDto> use = pointCommandExecutor.use(userId, 1000L);
+        CompletableFuture<UserPointDto> charge = pointCommandExecutor.charge(userId, 500L);
+
+        //then
+        ExecutionException exception = assertThrows(ExecutionException.class, use::get);
+        assertInstanceOf(TddCustomException.class, exception.getCause());
+        assertThat(charge.join().getPoint()).isEqualTo(500L);
+    }
+
+    /**
+     * 묶음 처리 - 함께 모인 명령은 잔고를 한 번만 저장하고 내역은 명령 순서대로 등록한다.
+     * 잔고가 부족해지는 사용 명령만 err-03 으로 실패하고, 명령마다 처리 후 잔고를 돌려받는다.
+     */
+    @Test
+    public void groupCommit() throws Exception {
+        //given
+        AtomicInteger saveCount = new AtomicInteger();
+        UserPointTable countingTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                saveCount.incrementAndGet();
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        UserPointRepository countingRepository = new UserPointRepository(countingTable, new UserPointCache(1000, 0), meterRegistry);
+        PointService countingPointService = new PointService(countingRepository, meterRegistry);
+        PointGroupCommitService pointGroupCommitService = new PointGroupCommitService(countingRepository, pointHistoryAppender, countingPointService, userLockManager, new PointHoldRepository());
+        //첫 명령 후 200ms 동안 명령을 모은다.
+        PointCommandExecutor groupExecutor = new PointCommandExecutor(chargeService, useService, pointGroupCommitService, pointThreadFactories, 4, true, 200_000, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        long userId = 7L;
+
+        //when
+        CompletableFuture<UserPointDto> charge = groupExecutor.charge(userId, 1000L);
+        CompletableFuture<UserPointDto> use = groupExecutor.use(userId, 300L);
+        CompletableFuture<UserPointDto> overdraw = groupExecutor.use(userId, 5000L);
+        CompletableFuture<UserPointDto> charge2 = groupExecutor.charge(userId, 200L);
+
+        //then
+        assertThat(charge.get(10, TimeUnit.SECONDS).getPoint()).isEqualTo(1000L);
+        assertThat(use.get(10, TimeUnit.SECONDS).getPoint()).isEqualTo(700L);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> overdraw.get(10, TimeUnit.SECONDS));
+        assertThat(((TddCustomException) exception.getCause()).getCode()).isEqualTo("err-03");
+        assertThat(charge2.get(10, TimeUnit.SECONDS).getPoint()).isEqualTo(900L);
+        assertThat(saveCount.get()).isEqualTo(1);
+
+        pointHistoryAppender.flush(10, TimeUnit.SECONDS);
+        assertThat(pointHistoryTable.selectAllByUserId(userId))
+                .extracting("amount")
+                .containsExactly(1000L, 300L, 200L);
+        groupExecutor.shutdown();
+    }
+
+    /**
+     * 묶음 처리 내역 시각 - 한 묶음의 내역도 명령마다 등록 시각을 받고 명령 순서대로 증가한다.
+     * 묶음이 기간 조회 경계에 걸쳐 있으면 경계 이전/이후 명령이 각 기간으로 나뉘어 조회된다. ([from, to))
+     */
+    @Test
+    public void groupCommitSpansPeriodBoundary() throws Exception {
+        //given
+        AtomicInteger saveCount = new AtomicInteger();
+        UserPointTable countingTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                saveCount.incrementAndGet();
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        UserPointRepository countingRepository = new UserPointRepository(countingTable, new UserPointCache(1000, 0), meterRegistry);
+        PointService countingPointService = new PointService(countingRepository, meterRegistry);
+        PointGroupCommitService pointGroupCommitService = new PointGroupCommitService(countingRepository, pointHistoryAppender, countingPointService, userLockManager, new PointHoldRepository());
+        //첫 명령 후 500ms 동안 명령을 모은다.
+        PointCommandExecutor groupExecutor = new PointCommandExecutor(chargeService, useService, pointGroupCommitService, pointThreadFactories, 4, true, 500_000, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        long userId = 8L;
+
+        //when
+        CompletableFuture<UserPointDto> charge = groupExecutor.charge(userId, 1000L);
+        CompletableFuture<UserPointDto> use = groupExecutor.use(userId, 100L);
+        Thread.sleep(100);
+        CompletableFuture<UserPointDto> charge2 = groupExecutor.charge(userId, 200L);
+        CompletableFuture.allOf(charge, use, charge2).get(10, TimeUnit.SECONDS);
+        pointHistoryAppender.flush(10, TimeUnit.SECONDS);
+        List<PointHistory> histories = pointHistoryRepository.findAllByUserId(userId);
+        long from = histories.get(0).updateMillis();
+        long boundary = histories.get(2).updateMillis();
+        logger.info("묶음 처리 내역 {}", histories);
+
+        //then
+        assertThat(saveCount.get()).isEqualTo(1);
+        assertThat(histories).extracting("updateMillis").doesNotHaveDuplicates().isSorted();
+        assertThat(pointHistoryRepository.findAllByUserIdBetween(userId, from, boundary, 0, 10, history -> true))
+                .extracting("amount")
+                .containsExactly(1000L, 100L);
+        assertThat(pointHistoryRepository.findAllByUserIdBetween(userId, boundary, boundary + 1, 0, 10, history -> true))
+                .extracting("amount")
+                .containsExactly(200L);
+        groupExecutor.shutdown();
+    }
+
+    /**
+     * 등록 수 제한 - 유저별 제한을 넘으면 429(err-08), 전체 제한을 넘으면 503(err-07)으로 바로 실패하고,
+     * 앞선 명령이 끝나면 다시 등록할 수 있다.
+     */
+    @Test
+    public void rejectWhenLimitExceeded() throws Exception {
+        //given
+        PointCommandExecutor limitedExecutor = new PointCommandExecutor(chargeService, useService, null, pointThreadFactories, 4, false, 0, 2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocked = limitedExecutor.submit(1L, () -> {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        //when
+        CompletableFuture<UserPointDto> sameUser = limitedExecutor.charge(1L, 100L);
+        CompletableFuture<UserPointDto> otherUser = limitedExecutor.charge(2L, 100L);
+        CompletableFuture<UserPointDto> overLimit = limitedExecutor.charge(3L, 100L);
+
+        //then
+        ExecutionException userRejected = assertThrows(ExecutionException.class, () -> sameUser.get(1, TimeUnit.SECONDS));
+        assertThat(((TddRejectedException) userRejected.getCause()).getStatus()).isEqualTo(429);
+        assertThat(((TddRejectedException) userRejected.getCause()).getCode()).isEqualTo("err-08");
+        ExecutionException globalRejected = assertThrows(ExecutionException.class, () -> overLimit.get(1, TimeUnit.SECONDS));
+        assertThat(((TddRejectedException) globalRejected.getCause()).getStatus()).isEqualTo(503);
+        assertThat(((TddRejectedException) globalRejected.getCause()).getCode()).isEqualTo("err-07");
+
+        release.countDown();
+        assertThat(blocked.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(otherUser.get(10, TimeUnit.SECONDS).getPoint()).isEqualTo(100L);
+        //결과를 완료한 뒤에 처리 중인 명령 수가 줄어드므로 메일박스가 비워질 때까지 기다린다.
+        while (limitedExecutor.activeMailboxCount() > 0) {
+            Thread.sleep(10);
+        }
+        assertThat(limitedExecutor.charge(1L, 100L).get(10, TimeUnit.SECONDS).getPoint()).isEqualTo(100L);
+        limitedExecutor.shutdown();
+    }
+
+    /**
+     * 락 대기 시간 제한 - 같은 유저의 락을 다른 스레드가 잡고 있으면 제한 시간 후 503(err-09)으로 실패한다.
+     */
+    @Test
+    public void rejectWhenLockTimeout() throws Exception {
+        //given
+        UserLockManager timeoutLockManager = new UserLockManager(meterRegistry, 16, 50L);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> timeoutLockManager.executeWithLock(1L, () -> {
+            locked.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        holder.start();
+        locked.await(10, TimeUnit.SECONDS);
+
+        //when
+        TddRejectedException exception = assertThrows(TddRejectedException.class,
+                () -> timeoutLockManager.executeWithLock(1L, () -> true));
+        release.countDown();
+        holder.join();
+
+        //then
+        assertThat(exception.getStatus()).isEqualTo(503);
+        assertThat(exception.getCode()).isEqualTo("err-09");
+        assertThat(timeoutLockManager.executeWithLock(1L, () -> true)).isTrue();
+    }
+}
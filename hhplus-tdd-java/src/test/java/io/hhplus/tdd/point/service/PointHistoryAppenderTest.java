@@ -0,0 +1,197 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.TablePointHistoryStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포인트 내역 비동기 저장 테스트
+ */
+public class PointHistoryAppenderTest {
+    private static final Logger logger = LoggerFactory.getLogger(PointHistoryAppenderTest.class);
+
+    private PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
+    private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 2, 2);
+
+    /**
+     * 같은 유저의 내역은 등록한 순서대로 저장된다.
+     * 큐 크기(2)보다 많이 등록해도 등록하는 쪽이 대기할 뿐 유실되지 않는다.
+     */
+    @Test
+    public void appendInOrder() {
+        //given
+        long userId = 1L;
+
+        //when
+        for (int i = 1; i <= 6; i++) {
+            pointHistoryAppender.append(userId, i * 1000L, (i % 2 == 0 ? USE : CHARGE), System.currentTimeMillis());
+        }
+        logger.info("저장 대기 [{}]건 / 지연 [{}]ms", pointHistoryAppender.getQueueDepth(), pointHistoryAppender.getLagMillis());
+        boolean flushed = pointHistoryAppender.flush(10, TimeUnit.SECONDS);
+
+        //then
+        List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+        assertThat(flushed).isTrue();
+        assertThat(pointHistoryAppender.getQueueDepth()).isZero();
+        assertThat(histories)
+                .extracting("amount")
+                .containsExactly(1000L, 2000L, 3000L, 4000L, 5000L, 6000L);
+    }
+
+    /**
+     * 종료 시 큐에 남은 내역을 모두 저장한다.
+     */
+    @Test
+    public void flushOnShutdown() throws InterruptedException {
+        //given
+        long userId = 2L;
+        pointHistoryAppender.append(userId, 1000L, CHARGE, System.currentTimeMillis());
+        pointHistoryAppender.append(userId, 500L, USE, System.currentTimeMillis());
+
+        //when
+        pointHistoryAppender.shutdown();
+
+        //then
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(2);
+    }
+
+    /**
+     * 여러 유저의 내역을 동시에 등록해도 포인트 내역 테이블에는 한 번에 하나씩 추가되므로 id 가 겹치지 않는다.
+     */
+    @Test
+    public void appendConcurrentlyToTable() throws InterruptedException {
+        //given
+        PointHistoryAppender appender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 100, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        for (long userId = 11L; userId <= 18L; userId++) {
+            long id = userId;
+            executor.execute(() -> {
+                for (int i = 1; i <= 3; i++) {
+                    appender.append(id, i * 100L, CHARGE, System.currentTimeMillis());
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        boolean flushed = appender.flush(30, TimeUnit.SECONDS);
+
+        //then
+        List<PointHistory> histories = LongStream.rangeClosed(11L, 18L)
+                .boxed()
+                .flatMap(userId -> pointHistoryTable.selectAllByUserId(userId).stream())
+                .toList();
+        assertThat(flushed).isTrue();
+        assertThat(histories).hasSize(24);
+        assertThat(histories).extracting("id").doesNotHaveDuplicates();
+    }
+
+    /**
+     * 저장이 잠깐 실패하면 다시 시도해서 저장한다.
+     * 재시도 후에도 실패한 내역은 저장 건수에 포함하지 않고 실패 목록으로 옮기며, 다음 내역은 계속 저장한다.
+     */
+    @Test
+    public void retryAndMoveToFailed() throws InterruptedException {
+        //given
+        AtomicInteger failures = new AtomicInteger(1);  // 남은 실패 횟수
+        PointHistoryRepository flakyRepository = new PointHistoryRepository(new TablePointHistoryStore(pointHistoryTable) {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (failures.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                    throw new IllegalStateException("저장 실패");
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        }, meterRegistry);
+        PointHistoryAppender appender = new PointHistoryAppender(flakyRepository, new HistorySummaryRepository(flakyRepository, 10), pointThreadFactories, 10, 1, 2, 1);
+        long userId = 3L;
+
+        //when
+        appender.append(userId, 100L, CHARGE, System.currentTimeMillis());  // 1번 실패 후 저장
+        boolean retried = appender.flush(10, TimeUnit.SECONDS);
+        failures.set(2);
+        appender.append(userId, 200L, CHARGE, System.currentTimeMillis());  // 2번 모두 실패
+        appender.append(userId, 300L, CHARGE, System.currentTimeMillis());
+        boolean failedFlush = appender.flush(10, TimeUnit.SECONDS);
+        long depth = appender.getQueueDepth();
+        int saved = appender.retryFailed();
+        appender.shutdown();
+
+        //then
+        assertThat(retried).isTrue();
+        assertThat(failedFlush).isFalse();
+        assertThat(depth).isZero();
+        assertThat(appender.getFailedCount()).isEqualTo(1L);
+        assertThat(saved).isEqualTo(1);
+        assertThat(appender.getFailedSize()).isZero();
+        assertThat(pointHistoryTable.selectAllByUserId(userId))
+                .extracting("amount")
+                .containsExactly(100L, 300L, 200L);
+    }
+
+    /**
+     * 포인트 내역 테이블은 레인이 하나이므로, 저장 속도보다 빠른 등록이 계속되면 큐(1)가 찬 뒤 등록하는 쪽이 대기한다.
+     * 대기할 뿐 내역은 유실되지 않는다.
+     */
+    @Test
+    public void blockCallersUnderSustainedLoad() throws InterruptedException {
+        //given
+        long insertMillis = 50L;
+        PointHistoryRepository slowRepository = new PointHistoryRepository(new TablePointHistoryStore(pointHistoryTable) {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                try {
+                    Thread.sleep(insertMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        }, meterRegistry);
+        PointHistoryAppender appender = new PointHistoryAppender(slowRepository, new HistorySummaryRepository(slowRepository, 10), pointThreadFactories, 1, 4);
+        long userId = 4L;
+        int count = 8;
+
+        //when
+        long started = System.nanoTime();
+        for (int i = 1; i <= count; i++) {
+            appender.append(userId, i * 100L, CHARGE, System.currentTimeMillis());
+        }
+        long appendMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        logger.info("등록 [{}]건 소요 [{}]ms", count, appendMillis);
+        boolean flushed = appender.flush(10, TimeUnit.SECONDS);
+
+        //then
+        //저장 중 1건 + 큐 1건을 넘는 등록은 앞의 저장이 끝나야 들어갈 수 있다.
+        assertThat(appendMillis).isGreaterThanOrEqualTo((count - 2) * insertMillis - insertMillis);
+        assertThat(flushed).isTrue();
+        assertThat(pointHistoryTable.selectAllByUserId(userId))
+                .extracting("amount")
+                .containsExactly(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L);
+    }
+}
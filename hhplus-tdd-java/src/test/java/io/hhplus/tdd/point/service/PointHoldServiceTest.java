@@ -0,0 +1,227 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.config.PointThreadFactories;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.TddCustomException;
+import io.hhplus.tdd.point.dto.PointHoldDto;
+import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포인트 보류/확정/해제 서비스 테스트
+ */
+public class PointHoldServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointHoldServiceTest.class);
+
+    private UserPointTable userPointTable = new UserPointTable();
+    private PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
+    private PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 1000, 2);
+    private UserPointCache userPointCache = new UserPointCache(1000, 0);
+    private UserPointRepository userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+    private PointService pointService = new PointService(userPointRepository, meterRegistry);
+    private UserLockManager userLockManager = new UserLockManager(meterRegistry);
+    private OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), false, meterRegistry);
+    private PointHoldRepository pointHoldRepository = new PointHoldRepository();
+    private UseService useService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater, pointHoldRepository);
+    private ChargeService chargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater);
+    private PointHoldService pointHoldService = new PointHoldService(pointHoldRepository, useService, 60_000L);
+
+    /**
+     * 보류 후 확정 - 보류 중인 포인트는 다른 사용에 쓰이지 않고, 확정하면 사용 내역으로 남는다.
+     */
+    @Test
+    public void holdAndCapture() {
+        //given
+        long userId = 1L;
+        chargeService.chargeUserPoint(userId, 1000L);
+        PointHoldDto hold = pointHoldService.hold(userId, 700L);
+        logger.info("보류 {}", hold);
+
+        //when
+        TddCustomException exception = assertThrows(TddCustomException.class, () -> useService.useUserPoint(userId, 500L));
+        UserPointDto captured = pointHoldService.capture(userId, hold.getId());
+        pointHistoryAppender.flush(1, TimeUnit.MINUTES);
+
+        //then
+        assertThat(exception.getCode()).isEqualTo("err-03");
+        assertThat(captured.getPoint()).isEqualTo(300L);
+        assertThat(pointHoldRepository.reservedAmount(userId)).isEqualTo(0L);
+        assertThat(pointHistoryRepository.findAllByUserId(userId))
+                .extracting("type")
+                .containsExactly(CHARGE, USE);
+        assertThat(pointHistoryRepository.findAllByUserId(userId))
+                .extracting("amount")
+                .containsExactly(1000L, 700L);
+        //같은 보류는 두 번 확정할 수 없다.
+        assertThat(assertThrows(TddCustomException.class, () -> pointHoldService.capture(userId, hold.getId())).getCode())
+                .isEqualTo("err-06");
+    }
+
+    /**
+     * 해제/만료 - 보류했던 포인트를 다시 사용할 수 있고, 만료된 보류는 확정할 수 없다.
+     */
+    @Test
+    public void releaseAndExpire() throws InterruptedException {
+        //given
+        long userId = 2L;
+        chargeService.chargeUserPoint(userId, 1000L);
+        PointHoldDto released = pointHoldService.hold(userId, 600L);
+        PointHoldService shortHoldService = new PointHoldService(pointHoldRepository, useService, 1L);
+        PointHoldDto expired = shortHoldService.hold(userId, 400L);
+
+        //when
+        pointHoldService.release(userId, released.getId());
+        Thread.sleep(5);
+        shortHoldService.releaseExpired();
+        UserPointDto used = useService.useUserPoint(userId, 1000L);
+
+        //then
+        assertThat(used.getPoint()).isEqualTo(0L);
+        assertThat(pointHoldRepository.reservedAmount(userId)).isEqualTo(0L);
+        assertThat(assertThrows(TddCustomException.class, () -> pointHoldService.capture(userId, expired.getId())).getCode())
+                .isEqualTo("err-06");
+        //잔고를 넘는 보류는 실패한다.
+        assertThat(assertThrows(TddCustomException.class, () -> pointHoldService.hold(userId, 1L)).getCode())
+                .isEqualTo("err-03");
+    }
+
+    /**
+     * 보류는 명령 실행기에서 같은 유저의 충전/사용과 등록 순서대로 처리되므로,
+     * 앞선 사용이 끝난 잔고로 검증하고 남은 포인트를 모두 보류할 수 있다.
+     */
+    @Test
+    public void holdInCommandOrder() {
+        //given
+        long userId = 3L;
+        PointCommandExecutor pointCommandExecutor = new PointCommandExecutor(chargeService, useService, pointThreadFactories, 4);
+
+        //when
+        CompletableFuture<UserPointDto> charged = pointCommandExecutor.charge(userId, 1000L);
+        CompletableFuture<UserPointDto> used = pointCommandExecutor.use(userId, 600L);
+        CompletableFuture<PointHoldDto> held = pointCommandExecutor.submit(userId, () -> pointHoldService.hold(userId, 400L));
+        CompletableFuture<UserPointDto> rejected = pointCommandExecutor.use(userId, 1L);
+
+        //then
+        assertThat(charged.join().getPoint()).isEqualTo(1000L);
+        assertThat(used.join().getPoint()).isEqualTo(400L);
+        assertThat(held.join().getAmount()).isEqualTo(400L);
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertThat(((TddCustomException) exception.getCause()).getCode()).isEqualTo("err-03");
+        assertThat(pointHoldRepository.reservedAmount(userId)).isEqualTo(400L);
+    }
+
+    /**
+     * 한 유저의 보류/확정/해제/사용을 동시에 실행해도 예약 합계는 0 이상이고 잔고를 넘지 않는다. (유저 락 모드)
+     */
+    @Test
+    public void mixedOperationsKeepReservationInBalance() throws InterruptedException {
+        assertMixedOperations(chargeService, useService, pointHoldService, 4L);
+    }
+
+    /**
+     * 한 유저의 보류/확정/해제/사용을 동시에 실행해도 예약 합계는 0 이상이고 잔고를 넘지 않는다. (낙관적 모드)
+     */
+    @Test
+    public void mixedOperationsKeepReservationInBalanceOptimistic() throws InterruptedException {
+        OptimisticPointUpdater optimistic = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), true, meterRegistry);
+        ChargeService optimisticChargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimistic);
+        UseService optimisticUseService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimistic, pointHoldRepository);
+        PointHoldService optimisticHoldService = new PointHoldService(pointHoldRepository, optimisticUseService, 60_000L);
+
+        assertMixedOperations(optimisticChargeService, optimisticUseService, optimisticHoldService, 5L);
+    }
+
+    /**
+     * 스레드 4개가 보류 후 확정 또는 해제, 사용을 반복하는 동안 예약 합계를 계속 확인한다.
+     * 잔고는 줄어들기만 하므로 마지막 잔고 이하였던 예약 합계는 실행 중 어느 시점의 잔고도 넘지 않은 것이다.
+     */
+    private void assertMixedOperations(ChargeService charge, UseService use, PointHoldService holdService, long userId) throws InterruptedException {
+        //given
+        long initial = 10_000L;
+        charge.chargeUserPoint(userId, initial);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong minReserved = new AtomicLong(Long.MAX_VALUE);
+        AtomicLong maxReserved = new AtomicLong(Long.MIN_VALUE);
+        AtomicLong spent = new AtomicLong();
+        AtomicInteger rejected = new AtomicInteger();
+
+        //when
+        executor.execute(() -> {
+            while (running.get()) {
+                long reserved = pointHoldRepository.reservedAmount(userId);
+                minReserved.accumulateAndGet(reserved, Math::min);
+                maxReserved.accumulateAndGet(reserved, Math::max);
+            }
+        });
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < 5; i++) {
+                        try {
+                            PointHoldDto hold = holdService.hold(userId, 300L);
+                            if (i % 2 == 0) {
+                                holdService.capture(userId, hold.getId());
+                                spent.addAndGet(300L);
+                            } else {
+                                holdService.release(userId, hold.getId());
+                            }
+                            use.useUserPoint(userId, 100L);
+                            spent.addAndGet(100L);
+                        } catch (TddCustomException e) {
+                            //낙관적 모드의 재시도 초과(err-05)는 예약을 남기지 않고 실패한다.
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(1, TimeUnit.MINUTES);
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        long balance = pointService.selectPointByUserId(userId).getPoint();
+        logger.info("잔고 [{}] 사용 [{}] 예약 합계 최소 [{}] 최대 [{}] 실패 [{}]", balance, spent.get(), minReserved.get(), maxReserved.get(), rejected.get());
+
+        //then
+        assertThat(minReserved.get()).isGreaterThanOrEqualTo(0L);
+        assertThat(maxReserved.get()).isLessThanOrEqualTo(balance);
+        assertThat(balance).isEqualTo(initial - spent.get());
+        assertThat(pointHoldRepository.reservedAmount(userId)).isEqualTo(0L);
+    }
+}
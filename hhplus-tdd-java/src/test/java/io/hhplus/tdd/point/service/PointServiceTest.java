@@ -4,11 +4,25 @@ import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.TddCustomException;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -19,6 +33,25 @@ public class PointServiceTest {
 
     private UserPointTable userPointTable = new UserPointTable();
 
+    //첫 번째 조회만 release 될 때까지 대기하는 테이블 (캐시 없이 사용)
+    private CountDownLatch release = new CountDownLatch(1);
+    private AtomicInteger selectCount = new AtomicInteger();
+    private UserPointTable gatedTable = new UserPointTable() {
+        @Override
+        public UserPoint selectById(Long id) {
+            if (selectCount.incrementAndGet() == 1) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.selectById(id);
+        }
+    };
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserPointRepository gatedRepository = new UserPointRepository(gatedTable, new UserPointCache(0, 0), meterRegistry);
+    private PointService pointService = new PointService(gatedRepository, meterRegistry);
 
     /**
      * DB 유저 더미 데이터 생성
@@ -142,4 +175,66 @@ public class PointServiceTest {
         assertInstanceOf(TddCustomException.class, exception);
         assertEquals("DB에 유저가 존재하지 않습니다.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    /**
+     * 같은 유저의 동시 조회는 테이블을 한 번만 조회하고 같은 결과를 받는다.
+     */
+    @Test
+    public void coalesceConcurrentReads() throws Exception {
+        //given
+        gatedTable.insertOrUpdate(1L, 5000L);
+        int readers = 10;
+        ExecutorService es = Executors.newFixedThreadPool(readers);
+
+        //when
+        List<Future<UserPointDto>> results = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            results.add(es.submit(() -> pointService.selectPointByUserId(1L)));
+        }
+        //나머지 조회가 모두 합류할 때까지 첫 번째 조회를 붙잡아둔다.
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (readCount("joined") < readers - 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        for (Future<UserPointDto> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS).getPoint()).isEqualTo(5000L);
+        }
+        es.shutdown();
+        logger.info("leader [{}] joined [{}]", readCount("leader"), readCount("joined"));
+
+        //then
+        assertThat(selectCount.get()).isEqualTo(1);
+        assertThat(readCount("leader")).isEqualTo(1.0);
+        assertThat(readCount("joined")).isEqualTo(readers - 1.0);
+    }
+
+    /**
+     * 조회가 진행 중일 때 저장이 있었으면 이후 조회는 합류하지 않고 저장된 값을 조회한다.
+     */
+    @Test
+    public void doNotJoinReadStartedBeforeWrite() throws Exception {
+        //given
+        ExecutorService es = Executors.newSingleThreadExecutor();
+        Future<UserPointDto> before = es.submit(() -> pointService.selectPointByUserId(1L));
+        while (selectCount.get() == 0) {
+            Thread.sleep(10);
+        }
+
+        //when
+        gatedRepository.save(1L, 7000L);
+        UserPointDto after = pointService.selectPointByUserId(1L);
+        release.countDown();
+        before.get(10, TimeUnit.SECONDS);
+        es.shutdown();
+
+        //then
+        assertThat(after.getPoint()).isEqualTo(7000L);
+        assertThat(selectCount.get()).isEqualTo(2);
+        assertThat(readCount("joined")).isZero();
+    }
+
+    private double readCount(String result) {
+        return meterRegistry.get("point.read.requests").tag("result", result).counter().count();
+    }
+}
@@ -1,22 +1,35 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.config.PointThreadFactories;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.TddCustomException;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistorySummary;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.dto.UserPointDto;
+import io.hhplus.tdd.point.repository.HistorySummaryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHoldRepository;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.VersionedUserPointStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
 import static io.hhplus.tdd.point.TransactionType.USE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,10 +42,20 @@ public class UseServiceTest {
     private static final Logger logger = LoggerFactory.getLogger(UseServiceTest.class);
 
     private UserPointTable userPointTable = new UserPointTable();
+    private PointThreadFactories pointThreadFactories = new PointThreadFactories(false);
     private PointHistoryTable pointHistoryTable = new PointHistoryTable();
-    private PointService pointService = new PointService(userPointTable);
-    private UseService useService = new UseService(userPointTable, pointHistoryTable, pointService);
-    private ChargeService chargeService = new ChargeService(userPointTable, pointHistoryTable, pointService);
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, meterRegistry);
+    private HistorySummaryRepository historySummaryRepository = new HistorySummaryRepository(pointHistoryRepository, 10);
+    private PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryRepository, historySummaryRepository, pointThreadFactories, 1000, 2);
+    private UserPointCache userPointCache = new UserPointCache(1000, 0);
+    private UserPointRepository userPointRepository = new UserPointRepository(userPointTable, userPointCache, meterRegistry);
+    private PointService pointService = new PointService(userPointRepository, meterRegistry);
+    private UserLockManager userLockManager = new UserLockManager(meterRegistry);
+    private OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(new VersionedUserPointStore(userPointRepository), false, meterRegistry);
+    private PointHoldRepository pointHoldRepository = new PointHoldRepository();
+    private UseService useService = new UseService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater, pointHoldRepository);
+    private ChargeService chargeService = new ChargeService(userPointRepository, pointHistoryAppender, pointService, userLockManager, optimisticPointUpdater);
     /**
      * DB 유저 더미 데이터 생성
      * 단, id는 1 ~ 5까지 정수
@@ -183,6 +206,37 @@ public class UseServiceTest {
         assertInstanceOf(NumberFormatException.class, exception);
     }
 
+    /**
+     * 내역 요약 - 저장된 충전/사용만 반영되고, 잔고 부족으로 실패한 사용은 반영되지 않는다.
+     * 최근 내역에는 저장된 내역 id 가 들어간다.
+     */
+    @Test
+    public void summaryAfterChargeAndUse() {
+        //given
+        long userId = 1L;
+        chargeService.chargeUserPoint(userId, 1000L);
+        useService.useUserPoint(userId, 400L);
+
+        //when
+        assertThrows(TddCustomException.class, () -> useService.useUserPoint(userId, 5000L));
+        pointHistoryAppender.flush(10, TimeUnit.SECONDS);
+        PointHistorySummary summary = historySummaryRepository.findByUserId(userId);
+        logger.info("내역 요약 {}", summary);
+
+        //then
+        assertThat(summary.totalCharged()).isEqualTo(1000L);
+        assertThat(summary.totalUsed()).isEqualTo(400L);
+        assertThat(summary.count()).isEqualTo(2L);
+        assertThat(summary.recentActivities())
+                .extracting("type")
+                .containsExactly(USE, CHARGE);
+        assertThat(summary.recentActivities())
+                .extracting("id")
+                .containsExactlyElementsOf(pointHistoryRepository.findAllByUserId(userId).stream()
+                        .map(PointHistory::id)
+                        .sorted(Comparator.reverseOrder())
+                        .toList());
+    }
 
     /**
      * 사용 포인트 차감
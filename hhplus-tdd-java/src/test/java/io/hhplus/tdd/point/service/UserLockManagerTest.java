@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exception.TddRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 유저별 락 관리 테스트
+ */
+public class UserLockManagerTest {
+    private static final Logger logger = LoggerFactory.getLogger(UserLockManagerTest.class);
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * 락은 비공정 모드이고, 락 개수는 2의 거듭제곱으로 올린다.
+     */
+    @Test
+    public void unfairStripes() {
+        //given
+        UserLockManager userLockManager = new UserLockManager(meterRegistry, 3);
+
+        //then
+        assertThat(userLockManager.lockOf(1L).isFair()).isFalse();
+        assertThat(LongStream.range(0, 1000).mapToObj(userLockManager::lockOf).distinct().count()).isEqualTo(4L);
+    }
+
+    /**
+     * 락이 하나뿐이면 서로 다른 유저도 같은 락을 기다린다.
+     * 다른 유저 때문에 대기 시간 제한(err-09)을 넘긴 경우는 stripe-collision 으로, 같은 유저를 기다린 경우는 same-user 로 기록한다.
+     */
+    @Test
+    public void reportStripeCollision() throws Exception {
+        //given
+        UserLockManager userLockManager = new UserLockManager(meterRegistry, 1, 50L);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> userLockManager.executeWithLock(1L, () -> {
+            locked.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        holder.start();
+        locked.await(10, TimeUnit.SECONDS);
+
+        //when
+        TddRejectedException collision = assertThrows(TddRejectedException.class,
+                () -> userLockManager.executeWithLock(2L, () -> true));
+        TddRejectedException sameUser = assertThrows(TddRejectedException.class,
+                () -> userLockManager.executeWithLock(1L, () -> true));
+        release.countDown();
+        holder.join();
+        userLockManager.executeWithLock(2L, () -> true);
+
+        //then
+        long collisions = meterRegistry.get("point.lock.wait").tag("cause", "stripe-collision").timer().count();
+        long sameUserWaits = meterRegistry.get("point.lock.wait").tag("cause", "same-user").timer().count();
+        long noWaits = meterRegistry.get("point.lock.wait").tag("cause", "none").timer().count();
+        logger.info("락 대기 stripe 충돌 [{}]건 같은 유저 [{}]건 대기 없음 [{}]건", collisions, sameUserWaits, noWaits);
+        assertThat(collision.getCode()).isEqualTo("err-09");
+        assertThat(sameUser.getCode()).isEqualTo("err-09");
+        assertThat(collisions).isEqualTo(1L);
+        assertThat(sameUserWaits).isEqualTo(1L);
+        assertThat(noWaits).isEqualTo(2L);
+        assertThat(meterRegistry.get("point.lock.wait").tag("cause", "stripe-collision").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(50.0);
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.shard;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 유저 id → 인스턴스 일관된 해시 링 테스트
+ */
+public class ConsistentHashRingTest {
+    private static final Logger logger = LoggerFactory.getLogger(ConsistentHashRingTest.class);
+
+    private static final List<String> MEMBERS = List.of("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    /**
+     * 유저가 인스턴스에 고르게 나뉘고, 같은 목록으로 만든 링은 같은 인스턴스를 돌려준다.
+     */
+    @Test
+    public void distributeUsers() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 160);
+        ConsistentHashRing sameRing = new ConsistentHashRing(MEMBERS, 160);
+        Map<String, Integer> counts = new HashMap<>();
+
+        //when
+        for (long userId = 1; userId <= 100_000; userId++) {
+            String owner = ring.ownerOf(userId);
+            assertThat(sameRing.ownerOf(userId)).isEqualTo(owner);
+            counts.merge(owner, 1, Integer::sum);
+        }
+        logger.info("인스턴스별 유저 수 {}", counts);
+
+        //then
+        assertThat(counts).containsOnlyKeys(MEMBERS);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(25_000, 42_000));
+    }
+
+    /**
+     * 인스턴스를 추가하면 약 1/4 의 유저만, 모두 새 인스턴스로 옮겨진다.
+     */
+    @Test
+    public void moveOnlyToAddedMember() {
+        //given
+        List<String> grown = new ArrayList<>(MEMBERS);
+        grown.add("http://localhost:8084");
+        ConsistentHashRing before = new ConsistentHashRing(MEMBERS, 160);
+        ConsistentHashRing after = new ConsistentHashRing(grown, 160);
+
+        //when
+        int moved = 0;
+        for (long userId = 1; userId <= 100_000; userId++) {
+            String owner = after.ownerOf(userId);
+            if (!owner.equals(before.ownerOf(userId))) {
+                assertThat(owner).isEqualTo("http://localhost:8084");
+                moved++;
+            }
+        }
+        logger.info("옮겨진 유저 수 [{}]", moved);
+
+        //then
+        assertThat(moved).isBetween(15_000, 35_000);
+    }
+}
@@ -0,0 +1,179 @@
+package io.hhplus.tdd.point.shard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.dto.PointCommandDto;
+import io.hhplus.tdd.point.dto.PointCommandResultDto;
+import io.hhplus.tdd.point.dto.UserPointDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 유저 샤딩 테스트
+ * - localhost 의 서로 다른 포트로 애플리케이션 두 개를 띄우고, 같은 인스턴스 목록으로 샤딩한다.
+ */
+public class PointShardClusterTest {
+    private static final Logger logger = LoggerFactory.getLogger(PointShardClusterTest.class);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();   // 리다이렉트를 따라가지 않는다.
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final List<String> members = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    /**
+     * forward - 담당하지 않는 유저의 충전은 담당 인스턴스에서 처리되고, 응답은 받은 인스턴스가 그대로 돌려준다.
+     */
+    @Test
+    public void forwardToOwner() throws Exception {
+        //given
+        startCluster(2, "forward");
+        long userId = userOwnedBy(1);
+
+        //when
+        HttpResponse<String> response = send(members.get(0) + "/point/" + userId + "/charge?amount=1000", "PATCH", null);
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readValue(response.body(), UserPointDto.class).getPoint()).isEqualTo(1000L);
+        assertThat(contexts.get(1).getBean(UserPointTable.class).selectById(userId).point()).isEqualTo(1000L);
+        assertThat(contexts.get(0).getBean(UserPointTable.class).selectById(userId).point()).isEqualTo(0L);
+    }
+
+    /**
+     * redirect - 담당하지 않는 유저의 요청은 307 로 담당 인스턴스 주소를 돌려주고, 그 주소로 다시 요청하면 처리된다.
+     */
+    @Test
+    public void redirectToOwner() throws Exception {
+        //given
+        startCluster(2, "redirect");
+        long userId = userOwnedBy(1);
+
+        //when
+        HttpResponse<String> redirected = send(members.get(0) + "/point/" + userId + "/charge?amount=500", "PATCH", null);
+        String location = redirected.headers().firstValue("Location").orElseThrow();
+        HttpResponse<String> response = send(location, "PATCH", null);
+
+        //then
+        assertThat(redirected.statusCode()).isEqualTo(307);
+        assertThat(location).isEqualTo(members.get(1) + "/point/" + userId + "/charge?amount=500");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(contexts.get(1).getBean(UserPointTable.class).selectById(userId).point()).isEqualTo(500L);
+    }
+
+    /**
+     * 클라이언트가 FORWARDED_HEADER 를 붙여도 인스턴스 목록에 없는 주소면 무시하고 담당 인스턴스로 안내한다.
+     */
+    @Test
+    public void ignoreSpoofedForwardedHeader() throws Exception {
+        //given
+        startCluster(2, "redirect");
+        long userId = userOwnedBy(1);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(members.get(0) + "/point/" + userId + "/charge?amount=1000"))
+                .header(PointShardRouter.FORWARDED_HEADER, "http://attacker.example")
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        //when
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(307);
+        assertThat(contexts.get(0).getBean(UserPointTable.class).selectById(userId).point()).isEqualTo(0L);
+    }
+
+    /**
+     * 일괄 처리 - 담당 인스턴스별로 나눠서 처리하고, 결과는 요청 순서대로 합친다.
+     */
+    @Test
+    public void splitBatchByOwner() throws Exception {
+        //given
+        startCluster(2, "redirect");
+        long localUser = userOwnedBy(0);
+        long remoteUser = userOwnedBy(1);
+        List<PointCommandDto> commands = List.of(
+                new PointCommandDto(remoteUser, CHARGE, 300L),
+                new PointCommandDto(localUser, CHARGE, 100L),
+                new PointCommandDto(remoteUser, CHARGE, 200L));
+
+        //when
+        HttpResponse<String> response = send(members.get(0) + "/point/batch", "POST", objectMapper.writeValueAsString(commands));
+        List<PointCommandResultDto> results = objectMapper.readValue(response.body(), new TypeReference<>() {
+        });
+        logger.info("일괄 처리 결과 {}", results);
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(results).extracting("index").containsExactly(0, 1, 2);
+        assertThat(results).extracting("point").containsExactly(300L, 100L, 500L);
+        assertThat(contexts.get(0).getBean(UserPointTable.class).selectById(localUser).point()).isEqualTo(100L);
+        assertThat(contexts.get(1).getBean(UserPointTable.class).selectById(remoteUser).point()).isEqualTo(500L);
+    }
+
+    /**
+     * 빈 포트로 인스턴스 size 개 실행 (모두 같은 인스턴스 목록 사용)
+     */
+    private void startCluster(int size, String routing) throws IOException {
+        List<Integer> ports = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                ports.add(socket.getLocalPort());
+            }
+            members.add("http://localhost:" + ports.get(i));
+        }
+        for (int i = 0; i < size; i++) {
+            contexts.add(new SpringApplicationBuilder(TddApplication.class)
+                    .properties(
+                            "server.port=" + ports.get(i),
+                            "point.shard.enabled=true",
+                            "point.shard.self=" + members.get(i),
+                            "point.shard.members=" + String.join(",", members),
+                            "point.shard.routing=" + routing)
+                    .run());
+        }
+    }
+
+    /**
+     * index 번째 인스턴스가 담당하는 유저 id
+     */
+    private long userOwnedBy(int index) {
+        PointShardRouter router = contexts.get(0).getBean(PointShardRouter.class);
+        for (long userId = 1; ; userId++) {
+            if (router.ownerOf(userId).equals(members.get(index))) {
+                return userId;
+            }
+        }
+    }
+
+    private HttpResponse<String> send(String url, String method, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+        if (json == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(json));
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point.shard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 유저별 담당 인스턴스 결정 테스트
+ */
+public class PointShardRouterTest {
+
+    private static final String SELF = "http://127.0.0.1:8081";
+    private static final String PEER = "http://127.0.0.1:8082";
+
+    private final PointShardRouter pointShardRouter = new PointShardRouter(true, SELF, List.of(SELF, PEER + "/"), 160, "forward", new SimpleMeterRegistry());
+
+    /**
+     * 다른 인스턴스 주소를 담은 헤더가 그 인스턴스의 호스트에서 왔으면 믿는다.
+     */
+    @Test
+    public void trustPeer() {
+        assertThat(pointShardRouter.isFromPeer(PEER, "127.0.0.1")).isTrue();
+        assertThat(pointShardRouter.isFromPeer(PEER + "/", "127.0.0.1")).isTrue();
+    }
+
+    /**
+     * 헤더가 없거나, 인스턴스 목록에 없는 주소거나, 자기 주소거나, 다른 호스트에서 온 요청은 믿지 않는다.
+     */
+    @Test
+    public void ignoreUntrustedHeader() {
+        assertThat(pointShardRouter.isFromPeer(null, "127.0.0.1")).isFalse();
+        assertThat(pointShardRouter.isFromPeer("http://127.0.0.1:9999", "127.0.0.1")).isFalse();
+        assertThat(pointShardRouter.isFromPeer("anything", "127.0.0.1")).isFalse();
+        assertThat(pointShardRouter.isFromPeer(SELF, "127.0.0.1")).isFalse();
+        assertThat(pointShardRouter.isFromPeer(PEER, "10.0.0.9")).isFalse();
+    }
+
+    /**
+     * 샤딩을 사용하지 않으면 헤더를 믿지 않는다.
+     */
+    @Test
+    public void ignoreHeaderWhenDisabled() {
+        PointShardRouter disabled = new PointShardRouter(false, "", List.of(), 160, "redirect", new SimpleMeterRegistry());
+
+        assertThat(disabled.isFromPeer(PEER, "127.0.0.1")).isFalse();
+    }
+
+    /**
+     * 주소를 조회할 수 없는 인스턴스가 있어도 시작할 수 있고, 그 인스턴스 이름의 헤더만 믿지 않는다.
+     * 다시 조회해도 조회한 주소는 그대로 유지된다.
+     */
+    @Test
+    public void skipUnresolvedPeer() {
+        //given
+        String unresolved = "http://unresolved.invalid:8083";
+        PointShardRouter router = new PointShardRouter(true, SELF, List.of(SELF, PEER, unresolved), 160, "forward", new SimpleMeterRegistry());
+
+        //when
+        router.refreshPeerAddresses();
+
+        //then
+        assertThat(router.isFromPeer(unresolved, "127.0.0.1")).isFalse();
+        assertThat(router.isFromPeer(PEER, "127.0.0.1")).isTrue();
+    }
+}